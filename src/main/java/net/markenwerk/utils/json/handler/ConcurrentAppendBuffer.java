@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@link ConcurrentAppendBuffer} is a thread-safe, lock-free collection of
+ * values that can only be appended to.
+ * 
+ * <p>
+ * Values that are appended by the same thread retain their order. A
+ * {@link ConcurrentAppendBuffer#toList() snapshot} is not atomic while values
+ * are appended concurrently.
+ * 
+ * @param <Value>
+ *            The value type.
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public final class ConcurrentAppendBuffer<Value> {
+
+	private final Queue<Value> values = new ConcurrentLinkedQueue<Value>();
+
+	private final StripedLongCounter size = new StripedLongCounter();
+
+	/**
+	 * Creates a new {@link ConcurrentAppendBuffer}.
+	 */
+	public ConcurrentAppendBuffer() {
+	}
+
+	/**
+	 * Appends the given value.
+	 * 
+	 * @param value
+	 *            The value to be appended.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given value is {@literal null}.
+	 */
+	public void add(Value value) throws IllegalArgumentException {
+		if (null == value) {
+			throw new IllegalArgumentException("The given value is null");
+		}
+		values.add(value);
+		size.increment();
+	}
+
+	/**
+	 * Returns the number of appended values.
+	 * 
+	 * @return The number of appended values.
+	 */
+	public long size() {
+		return size.sum();
+	}
+
+	/**
+	 * Returns a snapshot of all appended values.
+	 * 
+	 * @return A new {@link List} with the appended values.
+	 */
+	public List<Value> toList() {
+		return new ArrayList<Value>(values);
+	}
+
+	@Override
+	public String toString() {
+		return values.toString();
+	}
+
+}
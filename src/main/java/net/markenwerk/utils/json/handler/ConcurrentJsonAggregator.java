@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+/**
+ * A {@link ConcurrentJsonAggregator} calculates a single result for multiple
+ * JSON documents that are handled concurrently.
+ * 
+ * <p>
+ * Every thread uses its own {@link JsonHandler}, as
+ * {@link ConcurrentJsonAggregator#createHandler() created} by the
+ * {@link ConcurrentJsonAggregator}, but all {@link JsonHandler JsonHandlers}
+ * add to the same thread-safe accumulators (e.g. a {@link StripedLongCounter},
+ * a {@link ConcurrentLongMap} or a {@link ConcurrentAppendBuffer}), such that
+ * no merging of individual results is necessary and the aggregated
+ * {@link ConcurrentJsonAggregator#getResult() result} can be obtained without
+ * a global lock.
+ * 
+ * @param <Result>
+ *            The result type.
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public abstract class ConcurrentJsonAggregator<Result> {
+
+	private final ThreadLocal<JsonHandler<Result>> handlers = new ThreadLocal<JsonHandler<Result>>() {
+
+		@Override
+		protected JsonHandler<Result> initialValue() {
+			return createHandler();
+		}
+
+	};
+
+	/**
+	 * Creates a new {@link JsonHandler} that adds to this
+	 * {@link ConcurrentJsonAggregator}. The returned {@link JsonHandler} must
+	 * not be shared between threads, but may be used for multiple JSON
+	 * documents. Its {@link JsonHandler#getResult() result} is the
+	 * {@link ConcurrentJsonAggregator#getResult() result} of this
+	 * {@link ConcurrentJsonAggregator}.
+	 * 
+	 * @return The new {@link JsonHandler}.
+	 */
+	public abstract JsonHandler<Result> createHandler();
+
+	/**
+	 * Returns the result for all JSON documents that have been handled so far.
+	 * The result is not an atomic snapshot while JSON documents are handled
+	 * concurrently.
+	 * 
+	 * @return The aggregated result.
+	 * 
+	 * @throws JsonException
+	 *             If the calculation of the result failed.
+	 */
+	public abstract Result getResult() throws JsonException;
+
+	/**
+	 * Lets the given {@link JsonProducer} describe a JSON document to the
+	 * {@link JsonHandler} of the calling thread. Every thread
+	 * {@link ConcurrentJsonAggregator#createHandler() creates} its
+	 * {@link JsonHandler} once and reuses it for all subsequent JSON documents.
+	 * 
+	 * @param producer
+	 *            The {@link JsonProducer} to be used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonProducer} is {@literal null}.
+	 * @throws JsonException
+	 *             If describing or handling the JSON document failed.
+	 */
+	public final void aggregate(JsonProducer producer) throws IllegalArgumentException, JsonException {
+		if (null == producer) {
+			throw new IllegalArgumentException("The given producer is null");
+		}
+		producer.produce(handlers.get());
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link ConcurrentLongMap} is a thread-safe mapping from keys to long
+ * values, that are updated by adding to them.
+ * 
+ * <p>
+ * Every value is a {@link StripedLongCounter}, such that concurrent updates of
+ * the same key rarely contend for the same memory location. Updates are
+ * lock-free for existing keys. The first update for a new key only contends
+ * with other updates that hash to the same segment. A
+ * {@link ConcurrentLongMap#toMap() snapshot} is not atomic while the map is
+ * updated concurrently.
+ * 
+ * @param <Key>
+ *            The key type.
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public final class ConcurrentLongMap<Key> {
+
+	private final ConcurrentMap<Key, StripedLongCounter> values;
+
+	private final int concurrency;
+
+	/**
+	 * Creates a new {@link ConcurrentLongMap} with a concurrency level that
+	 * depends on the number of available processors.
+	 */
+	public ConcurrentLongMap() {
+		this(Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Creates a new {@link ConcurrentLongMap}.
+	 * 
+	 * @param concurrency
+	 *            The expected number of concurrently updating threads.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given concurrency is not positive.
+	 */
+	public ConcurrentLongMap(int concurrency) throws IllegalArgumentException {
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("The given concurrency is not positive");
+		}
+		this.values = new ConcurrentHashMap<Key, StripedLongCounter>(16, 0.75f, concurrency);
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Adds the given value to the value for the given key. A missing value is
+	 * treated as {@literal 0}.
+	 * 
+	 * @param key
+	 *            The key.
+	 * @param value
+	 *            The value to be added.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given key is {@literal null}.
+	 */
+	public void add(Key key, long value) throws IllegalArgumentException {
+		if (null == key) {
+			throw new IllegalArgumentException("The given key is null");
+		}
+		StripedLongCounter counter = values.get(key);
+		if (null == counter) {
+			StripedLongCounter created = new StripedLongCounter(concurrency);
+			counter = values.putIfAbsent(key, created);
+			if (null == counter) {
+				counter = created;
+			}
+		}
+		counter.add(value);
+	}
+
+	/**
+	 * Adds one to the value for the given key. A missing value is treated as
+	 * {@literal 0}.
+	 * 
+	 * @param key
+	 *            The key.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given key is {@literal null}.
+	 */
+	public void increment(Key key) throws IllegalArgumentException {
+		add(key, 1);
+	}
+
+	/**
+	 * Returns the value for the given key.
+	 * 
+	 * @param key
+	 *            The key.
+	 * @return The value for the given key or {@literal 0}, if there is no value
+	 *         for the given key.
+	 */
+	public long get(Key key) {
+		StripedLongCounter counter = null == key ? null : values.get(key);
+		return null == counter ? 0 : counter.sum();
+	}
+
+	/**
+	 * Returns the number of keys.
+	 * 
+	 * @return The number of keys.
+	 */
+	public int size() {
+		return values.size();
+	}
+
+	/**
+	 * Returns a snapshot of all values.
+	 * 
+	 * @return A new {@link Map} with the current values.
+	 */
+	public Map<Key, Long> toMap() {
+		Map<Key, Long> map = new HashMap<Key, Long>();
+		for (Entry<Key, StripedLongCounter> entry : values.entrySet()) {
+			map.put(entry.getKey(), entry.getValue().sum());
+		}
+		return map;
+	}
+
+	@Override
+	public String toString() {
+		return toMap().toString();
+	}
+
+}
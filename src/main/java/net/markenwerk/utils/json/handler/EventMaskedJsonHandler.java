@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+/**
+ * An {@link EventMaskedJsonHandler} is a {@link JsonHandler} that declares
+ * which events it consumes.
+ * 
+ * <p>
+ * A caller may omit calls to callback methods whose {@link JsonEventType}
+ * isn't contained in the {@link EventMaskedJsonHandler#getEventMask() event
+ * mask} (e.g. a JSON parser may skip decoding JSON strings or parsing JSON
+ * numbers). A {@link JsonHandler} that isn't an {@link EventMaskedJsonHandler}
+ * consumes all events. Use {@link JsonEventType#eventMaskOf(JsonHandler)} to
+ * obtain the event mask of any {@link JsonHandler}.
+ * 
+ * @param <Result>
+ *            The result type.
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public interface EventMaskedJsonHandler<Result> extends JsonHandler<Result> {
+
+	/**
+	 * Returns a bitmask of the {@link JsonEventType#getMask() event types} this
+	 * {@link EventMaskedJsonHandler} consumes. The result of an
+	 * {@link EventMaskedJsonHandler} must not depend on calls to callback
+	 * methods whose {@link JsonEventType} isn't contained in the returned
+	 * bitmask. The returned bitmask must not change while a JSON document is
+	 * described.
+	 * 
+	 * @return A bitmask of the consumed event types, or
+	 *         {@link JsonEventType#ALL_MASK}, if every event is consumed.
+	 */
+	public int getEventMask();
+
+}
@@ -21,6 +21,13 @@
  */
 package net.markenwerk.utils.json.handler;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import net.markenwerk.utils.json.common.JsonException;
 import net.markenwerk.utils.json.common.JsonIndexException;
 import net.markenwerk.utils.json.common.JsonValueException;
@@ -36,12 +43,29 @@ import net.markenwerk.utils.json.common.JsonValueException;
  * valid JSON number and to {@link IdleJsonHandler#checkString(String) check}
  * whether a {@link String} value is a valid JSON string.
  * 
+ * <p>
+ * The {@link IdleJsonHandler#getEventMask() event mask} of an
+ * {@link IdleJsonHandler} contains exactly the {@link JsonEventType
+ * JsonEventTypes} whose callback methods are overridden. It is calculated once
+ * per class and cached by every instance. Callers may therefore skip calls to
+ * {@link IdleJsonHandler#onName(String)},
+ * {@link IdleJsonHandler#onDouble(double)} or
+ * {@link IdleJsonHandler#onString(String)}, if they aren't overridden, which
+ * skips the inherited checks. Subclasses that rely on these checks should
+ * override {@link IdleJsonHandler#getEventMask()} accordingly.
+ * 
  * @param <Result>
  *            The result type.
  * @author Torsten Krause (tk at markenwerk dot net)
  * @since 1.0.0
  */
-public abstract class IdleJsonHandler<Result> implements JsonHandler<Result> {
+public abstract class IdleJsonHandler<Result> implements EventMaskedJsonHandler<Result> {
+
+	private static final ConcurrentMap<TypeReference, Integer> EVENT_MASKS = new ConcurrentHashMap<TypeReference, Integer>();
+
+	private static final ReferenceQueue<Class<?>> COLLECTED_TYPES = new ReferenceQueue<Class<?>>();
+
+	private int eventMask = -1;
 
 	@Override
 	public void onDocumentBegin() throws JsonException {
@@ -161,4 +185,103 @@ public abstract class IdleJsonHandler<Result> implements JsonHandler<Result> {
 		return null;
 	}
 
+	@Override
+	public int getEventMask() {
+		int eventMask = this.eventMask;
+		if (-1 == eventMask) {
+			eventMask = getEventMask(getClass());
+			this.eventMask = eventMask;
+		}
+		return eventMask;
+	}
+
+	private static int getEventMask(Class<?> type) {
+		Integer eventMask = EVENT_MASKS.get(new TypeReference(type, null));
+		if (null == eventMask) {
+			eventMask = calculateEventMask(type);
+			for (Reference<?> reference = COLLECTED_TYPES.poll(); null != reference; reference = COLLECTED_TYPES
+					.poll()) {
+				EVENT_MASKS.remove(reference);
+			}
+			EVENT_MASKS.putIfAbsent(new TypeReference(type, COLLECTED_TYPES), eventMask);
+		}
+		return eventMask;
+	}
+
+	private static int calculateEventMask(Class<?> type) {
+		int eventMask = 0;
+		for (JsonEventType eventType : JsonEventType.values()) {
+			try {
+				if (IdleJsonHandler.class != getCallbackMethod(type, eventType).getDeclaringClass()) {
+					eventMask |= eventType.getMask();
+				}
+			} catch (NoSuchMethodException e) {
+				eventMask |= eventType.getMask();
+			} catch (SecurityException e) {
+				eventMask |= eventType.getMask();
+			}
+		}
+		return eventMask;
+	}
+
+	private static Method getCallbackMethod(Class<?> type, JsonEventType eventType) throws NoSuchMethodException {
+		switch (eventType) {
+		case DOCUMENT_BEGIN:
+			return type.getMethod("onDocumentBegin");
+		case DOCUMENT_END:
+			return type.getMethod("onDocumentEnd");
+		case ARRAY_BEGIN:
+			return type.getMethod("onArrayBegin");
+		case ARRAY_END:
+			return type.getMethod("onArrayEnd");
+		case OBJECT_BEGIN:
+			return type.getMethod("onObjectBegin");
+		case OBJECT_END:
+			return type.getMethod("onObjectEnd");
+		case NAME:
+			return type.getMethod("onName", String.class);
+		case NEXT:
+			return type.getMethod("onNext");
+		case NULL:
+			return type.getMethod("onNull");
+		case BOOLEAN:
+			return type.getMethod("onBoolean", boolean.class);
+		case LONG:
+			return type.getMethod("onLong", long.class);
+		case DOUBLE:
+			return type.getMethod("onDouble", double.class);
+		case STRING:
+			return type.getMethod("onString", String.class);
+		default:
+			throw new NoSuchMethodException(eventType.name());
+		}
+	}
+
+	private static final class TypeReference extends WeakReference<Class<?>> {
+
+		private final int hashCode;
+
+		public TypeReference(Class<?> type, ReferenceQueue<Class<?>> queue) {
+			super(type, queue);
+			hashCode = System.identityHashCode(type);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			} else if (!(object instanceof TypeReference)) {
+				return false;
+			}
+			Class<?> type = get();
+			return null != type && type == ((TypeReference) object).get();
+		}
+
+	}
+
 }
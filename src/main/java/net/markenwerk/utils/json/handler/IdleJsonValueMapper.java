@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+/**
+ * An {@link IdleJsonValueMapper} is a {@link JsonValueMapper} that passes every
+ * JSON literal on unchanged. It is intended a base for custom
+ * {@link JsonValueMapper} implementations, that don't need to implement all
+ * methods.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public abstract class IdleJsonValueMapper implements JsonValueMapper {
+
+	@Override
+	public void onNull(JsonHandler<?> next) throws JsonException {
+		next.onNull();
+	}
+
+	@Override
+	public void onBoolean(boolean value, JsonHandler<?> next) throws JsonException {
+		next.onBoolean(value);
+	}
+
+	@Override
+	public void onLong(long value, JsonHandler<?> next) throws JsonException {
+		next.onLong(value);
+	}
+
+	@Override
+	public void onDouble(double value, JsonHandler<?> next) throws JsonException {
+		next.onDouble(value);
+	}
+
+	@Override
+	public void onString(String value, JsonHandler<?> next) throws JsonException {
+		next.onString(value);
+	}
+
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import java.io.Closeable;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+
+import net.markenwerk.utils.json.common.JsonException;
+import net.markenwerk.utils.json.common.JsonIndexException;
+import net.markenwerk.utils.json.common.JsonValueException;
+
+/**
+ * A {@link JsonCursor} is a pull-style view on the events that a
+ * {@link JsonProducer} pushes into a {@link JsonHandler}.
+ * 
+ * <p>
+ * The {@link JsonProducer} is run asynchronously, as soon as the first event is
+ * requested, and describes the JSON document into a preallocated, bounded
+ * buffer. If the buffer is full, the {@link JsonProducer} is paused until half
+ * of the buffer has been consumed, which keeps the memory consumption constant
+ * and avoids a context switch per event. {@link JsonCursor#close() Closing} a
+ * {@link JsonCursor} discards all buffered events and releases the
+ * {@link JsonProducer} with a {@link JsonHandlingException} the next time it
+ * describes an event.
+ * 
+ * <p>
+ * A {@link JsonCursor} must not be shared between threads.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public final class JsonCursor implements Closeable {
+
+	/**
+	 * The default number of events that are buffered.
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	private static final Executor THREAD_EXECUTOR = new Executor() {
+
+		@Override
+		public void execute(Runnable runnable) {
+			Thread thread = new Thread(runnable, "JsonCursor");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+	};
+
+	private final JsonProducer producer;
+
+	private final Executor executor;
+
+	private final JsonEventBuffer buffer;
+
+	private final int resumeSize;
+
+	private boolean started;
+
+	private boolean finished;
+
+	private boolean closed;
+
+	private boolean producerWaiting;
+
+	private boolean consumerWaiting;
+
+	private Thread consumerThread;
+
+	private JsonException failure;
+
+	private JsonEventType type;
+
+	private long primitive;
+
+	private String string;
+
+	/**
+	 * Creates a new {@link JsonCursor} that buffers up to
+	 * {@link JsonCursor#DEFAULT_CAPACITY} events and runs the given
+	 * {@link JsonProducer} in a new daemon thread.
+	 * 
+	 * @param producer
+	 *            The {@link JsonProducer} to be used.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonProducer} is {@literal null}.
+	 */
+	public JsonCursor(JsonProducer producer) throws IllegalArgumentException {
+		this(producer, DEFAULT_CAPACITY, THREAD_EXECUTOR);
+	}
+
+	/**
+	 * Creates a new {@link JsonCursor}.
+	 * 
+	 * @param producer
+	 *            The {@link JsonProducer} to be used.
+	 * @param capacity
+	 *            The number of events that are buffered.
+	 * @param executor
+	 *            The {@link Executor} to run the {@link JsonProducer} with.
+	 *            If the {@link Executor} runs the {@link JsonProducer} in the
+	 *            calling thread, the {@link JsonProducer} fails as soon as the
+	 *            buffer is full.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonProducer} is {@literal null}, if the
+	 *             given capacity is not positive or if the given
+	 *             {@link Executor} is {@literal null}.
+	 */
+	public JsonCursor(JsonProducer producer, int capacity, Executor executor) throws IllegalArgumentException {
+		if (null == producer) {
+			throw new IllegalArgumentException("The given producer is null");
+		}
+		if (null == executor) {
+			throw new IllegalArgumentException("The given executor is null");
+		}
+		this.producer = producer;
+		this.executor = executor;
+		this.buffer = new JsonEventBuffer(capacity);
+		this.resumeSize = capacity / 2;
+	}
+
+	/**
+	 * Returns whether another event is available. Waits until the
+	 * {@link JsonProducer} either described another event or finished.
+	 * 
+	 * @return Whether another event is available.
+	 * 
+	 * @throws JsonException
+	 *             If the {@link JsonProducer} failed, if the {@link Executor}
+	 *             rejected the {@link JsonProducer} or if the calling thread
+	 *             has been interrupted.
+	 */
+	public boolean hasNext() throws JsonException {
+		start();
+		synchronized (this) {
+			while (buffer.isEmpty() && !finished && !closed) {
+				consumerWaiting = true;
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new JsonHandlingException("Interrupted while waiting for the producer", e);
+				} finally {
+					consumerWaiting = false;
+				}
+			}
+			if (buffer.isEmpty() && null != failure) {
+				throw failure;
+			}
+			return !buffer.isEmpty();
+		}
+	}
+
+	/**
+	 * Advances to the next event.
+	 * 
+	 * @return The {@link JsonEventType} of the next event.
+	 * 
+	 * @throws NoSuchElementException
+	 *             If no further event is {@link JsonCursor#hasNext()
+	 *             available}.
+	 * @throws JsonException
+	 *             If the {@link JsonProducer} failed or if the calling thread
+	 *             has been interrupted.
+	 */
+	public JsonEventType next() throws NoSuchElementException, JsonException {
+		if (!hasNext()) {
+			throw new NoSuchElementException("No further event is available");
+		}
+		synchronized (this) {
+			type = buffer.getType();
+			primitive = buffer.getLong();
+			string = buffer.getString();
+			buffer.remove();
+			if (producerWaiting && buffer.size() <= resumeSize) {
+				notifyAll();
+			}
+			return type;
+		}
+	}
+
+	/**
+	 * Returns the {@link JsonEventType} of the current event.
+	 * 
+	 * @return The {@link JsonEventType} of the current event or
+	 *         {@literal null}, if {@link JsonCursor#next()} hasn't been called
+	 *         yet.
+	 */
+	public JsonEventType getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the name of the current event.
+	 * 
+	 * @return The name.
+	 * 
+	 * @throws IllegalStateException
+	 *             If the current event is not a {@link JsonEventType#NAME}.
+	 */
+	public String getName() throws IllegalStateException {
+		checkType(JsonEventType.NAME);
+		return string;
+	}
+
+	/**
+	 * Returns the value of the current event.
+	 * 
+	 * @return The value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If the current event is not a {@link JsonEventType#BOOLEAN}.
+	 */
+	public boolean getBoolean() throws IllegalStateException {
+		checkType(JsonEventType.BOOLEAN);
+		return 0 != primitive;
+	}
+
+	/**
+	 * Returns the value of the current event.
+	 * 
+	 * @return The value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If the current event is not a {@link JsonEventType#LONG}.
+	 */
+	public long getLong() throws IllegalStateException {
+		checkType(JsonEventType.LONG);
+		return primitive;
+	}
+
+	/**
+	 * Returns the value of the current event.
+	 * 
+	 * @return The value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If the current event is not a {@link JsonEventType#DOUBLE}.
+	 */
+	public double getDouble() throws IllegalStateException {
+		checkType(JsonEventType.DOUBLE);
+		return Double.longBitsToDouble(primitive);
+	}
+
+	/**
+	 * Returns the value of the current event.
+	 * 
+	 * @return The value.
+	 * 
+	 * @throws IllegalStateException
+	 *             If the current event is not a {@link JsonEventType#STRING}.
+	 */
+	public String getString() throws IllegalStateException {
+		checkType(JsonEventType.STRING);
+		return string;
+	}
+
+	private void checkType(JsonEventType expectedType) throws IllegalStateException {
+		if (expectedType != type) {
+			throw new IllegalStateException("The current event is not a " + expectedType + " but a " + type);
+		}
+	}
+
+	/**
+	 * Closes this {@link JsonCursor}. All buffered events are discarded and
+	 * the {@link JsonProducer} is released.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+			buffer.clear();
+			notifyAll();
+		}
+	}
+
+	private void start() {
+		synchronized (this) {
+			if (started || closed) {
+				return;
+			}
+			started = true;
+			consumerThread = Thread.currentThread();
+		}
+		try {
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					produce();
+				}
+
+			});
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				finished = true;
+				failure = new JsonHandlingException("The producer couldn't be started", e);
+			}
+		}
+	}
+
+	private void produce() {
+		JsonException failure = null;
+		try {
+			producer.produce(new BufferingJsonHandler());
+		} catch (JsonException e) {
+			failure = e;
+		} catch (Error e) {
+			failure = new JsonHandlingException(e);
+			throw e;
+		} catch (Throwable e) {
+			failure = new JsonHandlingException(e);
+		} finally {
+			synchronized (this) {
+				finished = true;
+				if (!closed) {
+					this.failure = failure;
+				}
+				notifyAll();
+			}
+		}
+	}
+
+	private void awaitCapacity() throws JsonHandlingException {
+		if (!closed && buffer.isFull() && consumerThread == Thread.currentThread()) {
+			throw new JsonHandlingException("The producer has been run in the consumer thread and the buffer is full");
+		}
+		while (!closed && buffer.isFull()) {
+			producerWaiting = true;
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JsonHandlingException("Interrupted while waiting for the consumer", e);
+			} finally {
+				producerWaiting = false;
+			}
+		}
+		if (closed) {
+			throw new JsonHandlingException("The cursor has been closed");
+		}
+	}
+
+	private void signalConsumer() {
+		if (consumerWaiting) {
+			notifyAll();
+		}
+	}
+
+	private final class BufferingJsonHandler implements JsonHandler<Void> {
+
+		@Override
+		public void onDocumentBegin() throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.DOCUMENT_BEGIN);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onDocumentEnd() throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.DOCUMENT_END);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onArrayBegin() throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.ARRAY_BEGIN);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onArrayEnd() throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.ARRAY_END);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onObjectBegin() throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.OBJECT_BEGIN);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onObjectEnd() throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.OBJECT_END);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onName(String name) throws JsonIndexException, JsonException {
+			IdleJsonHandler.checkName(name);
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.NAME, name);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onNext() throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.NEXT);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onNull() throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.NULL);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onBoolean(boolean value) throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.BOOLEAN, value);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onLong(long value) throws JsonException {
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.LONG, value);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onDouble(double value) throws JsonValueException, JsonException {
+			IdleJsonHandler.checkDouble(value);
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.DOUBLE, value);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public void onString(String value) throws JsonValueException, JsonException {
+			IdleJsonHandler.checkString(value);
+			synchronized (JsonCursor.this) {
+				awaitCapacity();
+				buffer.add(JsonEventType.STRING, value);
+				signalConsumer();
+			}
+		}
+
+		@Override
+		public Void getResult() throws JsonException {
+			return null;
+		}
+
+	}
+
+}
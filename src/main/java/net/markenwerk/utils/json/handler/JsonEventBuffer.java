@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+/**
+ * A {@link JsonEventBuffer} is a preallocated ring buffer of events that
+ * describe a JSON document. Event values are kept in primitive arrays, such
+ * that appending and removing events doesn't allocate any objects.
+ * 
+ * <p>
+ * A {@link JsonEventBuffer} isn't thread-safe.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+final class JsonEventBuffer {
+
+	private final JsonEventType[] types;
+
+	private final long[] primitives;
+
+	private final String[] strings;
+
+	private int head;
+
+	private int size;
+
+	public JsonEventBuffer(int capacity) throws IllegalArgumentException {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The given capacity is not positive");
+		}
+		types = new JsonEventType[capacity];
+		primitives = new long[capacity];
+		strings = new String[capacity];
+	}
+
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isFull() {
+		return types.length == size;
+	}
+
+	public void add(JsonEventType type) {
+		add(type, 0, null);
+	}
+
+	public void add(JsonEventType type, boolean value) {
+		add(type, value ? 1 : 0, null);
+	}
+
+	public void add(JsonEventType type, long value) {
+		add(type, value, null);
+	}
+
+	public void add(JsonEventType type, double value) {
+		add(type, Double.doubleToRawLongBits(value), null);
+	}
+
+	public void add(JsonEventType type, String value) {
+		add(type, 0, value);
+	}
+
+	private void add(JsonEventType type, long primitive, String string) {
+		if (isFull()) {
+			throw new IllegalStateException("The buffer is full");
+		}
+		int index = (head + size) % types.length;
+		types[index] = type;
+		primitives[index] = primitive;
+		strings[index] = string;
+		size++;
+	}
+
+	public JsonEventType getType() {
+		return types[head];
+	}
+
+	public boolean getBoolean() {
+		return 0 != primitives[head];
+	}
+
+	public long getLong() {
+		return primitives[head];
+	}
+
+	public double getDouble() {
+		return Double.longBitsToDouble(primitives[head]);
+	}
+
+	public String getString() {
+		return strings[head];
+	}
+
+	public void remove() {
+		if (isEmpty()) {
+			throw new IllegalStateException("The buffer is empty");
+		}
+		types[head] = null;
+		strings[head] = null;
+		head = (head + 1) % types.length;
+		size--;
+	}
+
+	public void clear() {
+		while (!isEmpty()) {
+			remove();
+		}
+	}
+
+	public static void dispatch(JsonEventType type, long primitive, String string, JsonHandler<?> handler)
+			throws JsonException {
+		switch (type) {
+		case DOCUMENT_BEGIN:
+			handler.onDocumentBegin();
+			break;
+		case DOCUMENT_END:
+			handler.onDocumentEnd();
+			break;
+		case ARRAY_BEGIN:
+			handler.onArrayBegin();
+			break;
+		case ARRAY_END:
+			handler.onArrayEnd();
+			break;
+		case OBJECT_BEGIN:
+			handler.onObjectBegin();
+			break;
+		case OBJECT_END:
+			handler.onObjectEnd();
+			break;
+		case NAME:
+			handler.onName(string);
+			break;
+		case NEXT:
+			handler.onNext();
+			break;
+		case NULL:
+			handler.onNull();
+			break;
+		case BOOLEAN:
+			handler.onBoolean(0 != primitive);
+			break;
+		case LONG:
+			handler.onLong(primitive);
+			break;
+		case DOUBLE:
+			handler.onDouble(Double.longBitsToDouble(primitive));
+			break;
+		case STRING:
+			handler.onString(string);
+			break;
+		}
+	}
+
+}
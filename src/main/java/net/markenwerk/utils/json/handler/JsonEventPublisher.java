@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import net.markenwerk.utils.json.common.JsonException;
+import net.markenwerk.utils.json.common.JsonIndexException;
+import net.markenwerk.utils.json.common.JsonValueException;
+
+/**
+ * A {@link JsonEventPublisher} is a {@link JsonHandler} that publishes all
+ * events it receives to a single {@link JsonEventSubscriber}, honoring the
+ * demand signaled by that {@link JsonEventSubscriber}.
+ * 
+ * <p>
+ * Events that haven't been requested yet are kept in a bounded buffer. If the
+ * buffer is full, the thread that describes the JSON document to the
+ * {@link JsonEventPublisher} is paused until the {@link JsonEventSubscriber}
+ * requests more events, such that the memory consumption stays constant
+ * regardless of the size of the JSON document. Requested events are delivered
+ * either on the thread that describes the JSON document or on the thread that
+ * requests events. If the {@link JsonEventSubscriber} fails to handle an event,
+ * the subscription is cancelled and the failure is propagated to that thread,
+ * wrapped in a {@link JsonHandlingException}, if it isn't a
+ * {@link JsonException}.
+ * 
+ * <p>
+ * A {@link JsonEventPublisher} follows the semantics of a Reactive Streams
+ * publisher, where every callback method call on a {@link JsonHandler} is one
+ * element and a call to {@link JsonHandler#onDocumentEnd()} marks the
+ * completion.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public final class JsonEventPublisher implements JsonHandler<Void> {
+
+	/**
+	 * The default number of events that are buffered.
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	private static final JsonEventSubscription CANCELLED_SUBSCRIPTION = new JsonEventSubscription() {
+
+		@Override
+		public void request(long count) {
+		}
+
+		@Override
+		public void cancel() {
+		}
+
+	};
+
+	private final JsonEventBuffer buffer;
+
+	private JsonEventSubscriber<?> subscriber;
+
+	private boolean subscribed;
+
+	private long requested;
+
+	private boolean cancelled;
+
+	private Throwable error;
+
+	private boolean draining;
+
+	private boolean producerWaiting;
+
+	/**
+	 * Creates a new {@link JsonEventPublisher} that buffers up to
+	 * {@link JsonEventPublisher#DEFAULT_CAPACITY} events.
+	 */
+	public JsonEventPublisher() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@link JsonEventPublisher}.
+	 * 
+	 * @param capacity
+	 *            The number of events that are buffered.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given capacity is not positive.
+	 */
+	public JsonEventPublisher(int capacity) throws IllegalArgumentException {
+		buffer = new JsonEventBuffer(capacity);
+	}
+
+	/**
+	 * Subscribes the given {@link JsonEventSubscriber} to this
+	 * {@link JsonEventPublisher}. If this {@link JsonEventPublisher} already
+	 * has a {@link JsonEventSubscriber}, the given {@link JsonEventSubscriber}
+	 * is notified with an {@link IllegalStateException}.
+	 * 
+	 * @param subscriber
+	 *            The {@link JsonEventSubscriber} to subscribe.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonEventSubscriber} is {@literal null}.
+	 */
+	public void subscribe(JsonEventSubscriber<?> subscriber) throws IllegalArgumentException {
+		if (null == subscriber) {
+			throw new IllegalArgumentException("The given subscriber is null");
+		}
+		boolean accepted;
+		synchronized (this) {
+			accepted = null == this.subscriber;
+			if (accepted) {
+				this.subscriber = subscriber;
+			}
+		}
+		if (accepted) {
+			subscriber.onSubscribe(new Subscription());
+			synchronized (this) {
+				subscribed = true;
+			}
+			drain();
+		} else {
+			subscriber.onSubscribe(CANCELLED_SUBSCRIPTION);
+			subscriber.onError(new IllegalStateException("The publisher already has a subscriber"));
+		}
+	}
+
+	/**
+	 * Notifies the {@link JsonEventSubscriber} that describing the JSON
+	 * document failed. Buffered events are discarded.
+	 * 
+	 * @param cause
+	 *            The cause of the failure.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given cause is {@literal null}.
+	 */
+	public void onError(Throwable cause) throws IllegalArgumentException {
+		if (null == cause) {
+			throw new IllegalArgumentException("The given cause is null");
+		}
+		synchronized (this) {
+			if (!cancelled && null == error) {
+				error = cause;
+			}
+		}
+		drain();
+	}
+
+	@Override
+	public void onDocumentBegin() throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.DOCUMENT_BEGIN);
+		}
+		drain();
+	}
+
+	@Override
+	public void onDocumentEnd() throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.DOCUMENT_END);
+		}
+		drain();
+	}
+
+	@Override
+	public void onArrayBegin() throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.ARRAY_BEGIN);
+		}
+		drain();
+	}
+
+	@Override
+	public void onArrayEnd() throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.ARRAY_END);
+		}
+		drain();
+	}
+
+	@Override
+	public void onObjectBegin() throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.OBJECT_BEGIN);
+		}
+		drain();
+	}
+
+	@Override
+	public void onObjectEnd() throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.OBJECT_END);
+		}
+		drain();
+	}
+
+	@Override
+	public void onName(String name) throws JsonIndexException, JsonException {
+		IdleJsonHandler.checkName(name);
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.NAME, name);
+		}
+		drain();
+	}
+
+	@Override
+	public void onNext() throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.NEXT);
+		}
+		drain();
+	}
+
+	@Override
+	public void onNull() throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.NULL);
+		}
+		drain();
+	}
+
+	@Override
+	public void onBoolean(boolean value) throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.BOOLEAN, value);
+		}
+		drain();
+	}
+
+	@Override
+	public void onLong(long value) throws JsonException {
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.LONG, value);
+		}
+		drain();
+	}
+
+	@Override
+	public void onDouble(double value) throws JsonValueException, JsonException {
+		IdleJsonHandler.checkDouble(value);
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.DOUBLE, value);
+		}
+		drain();
+	}
+
+	@Override
+	public void onString(String value) throws JsonValueException, JsonException {
+		IdleJsonHandler.checkString(value);
+		synchronized (this) {
+			awaitCapacity();
+			buffer.add(JsonEventType.STRING, value);
+		}
+		drain();
+	}
+
+	@Override
+	public Void getResult() throws JsonException {
+		return null;
+	}
+
+	private void awaitCapacity() throws JsonHandlingException {
+		while (!cancelled && null == error && buffer.isFull()) {
+			producerWaiting = true;
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JsonHandlingException("Interrupted while waiting for demand", e);
+			} finally {
+				producerWaiting = false;
+			}
+		}
+		if (cancelled || null != error) {
+			throw new JsonHandlingException("The subscription has been cancelled");
+		}
+	}
+
+	private void drain() throws JsonException {
+		synchronized (this) {
+			if (draining || !subscribed) {
+				return;
+			}
+			draining = true;
+		}
+		while (true) {
+			JsonEventType type = null;
+			long primitive = 0;
+			String string = null;
+			Throwable failure = null;
+			synchronized (this) {
+				if (null != error && !cancelled) {
+					failure = error;
+					terminate();
+				} else if (cancelled || 0 == requested || buffer.isEmpty()) {
+					draining = false;
+					return;
+				} else {
+					type = buffer.getType();
+					primitive = buffer.getLong();
+					string = buffer.getString();
+					buffer.remove();
+					if (Long.MAX_VALUE != requested) {
+						requested--;
+					}
+					if (producerWaiting) {
+						notifyAll();
+					}
+				}
+			}
+			if (null != failure) {
+				subscriber.onError(failure);
+				return;
+			}
+			try {
+				JsonEventBuffer.dispatch(type, primitive, string, subscriber);
+			} catch (JsonException e) {
+				synchronized (this) {
+					terminate();
+				}
+				throw e;
+			} catch (RuntimeException e) {
+				synchronized (this) {
+					terminate();
+				}
+				throw new JsonHandlingException(e);
+			}
+		}
+	}
+
+	private void terminate() {
+		cancelled = true;
+		draining = false;
+		buffer.clear();
+		notifyAll();
+	}
+
+	private final class Subscription implements JsonEventSubscription {
+
+		@Override
+		public void request(long count) {
+			synchronized (JsonEventPublisher.this) {
+				if (count <= 0) {
+					if (!cancelled && null == error) {
+						error = new IllegalArgumentException("The given count is not positive");
+					}
+				} else {
+					requested += count;
+					if (requested < 0) {
+						requested = Long.MAX_VALUE;
+					}
+				}
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			synchronized (JsonEventPublisher.this) {
+				if (!cancelled) {
+					cancelled = true;
+					buffer.clear();
+					JsonEventPublisher.this.notifyAll();
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+/**
+ * A {@link JsonEventSubscriber} is a {@link JsonHandler} that receives events
+ * from a {@link JsonEventPublisher} according to the demand it signals with
+ * {@link JsonEventSubscription#request(long)}.
+ * 
+ * <p>
+ * Callback methods of a {@link JsonEventSubscriber} are never called
+ * concurrently, but may be called from different threads. The JSON document is
+ * complete, when {@link JsonHandler#onDocumentEnd()} has been called.
+ * 
+ * @param <Result>
+ *            The result type.
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public interface JsonEventSubscriber<Result> extends JsonHandler<Result> {
+
+	/**
+	 * Called when this {@link JsonEventSubscriber} has been subscribed to a
+	 * {@link JsonEventPublisher}. No events will be delivered before events
+	 * are requested through the given {@link JsonEventSubscription}.
+	 * 
+	 * @param subscription
+	 *            The {@link JsonEventSubscription} to signal demand with.
+	 */
+	public void onSubscribe(JsonEventSubscription subscription);
+
+	/**
+	 * Called when the {@link JsonEventPublisher} failed. No further events
+	 * will be delivered.
+	 * 
+	 * @param cause
+	 *            The cause of the failure.
+	 */
+	public void onError(Throwable cause);
+
+}
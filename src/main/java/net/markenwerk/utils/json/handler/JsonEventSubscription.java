@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+/**
+ * A {@link JsonEventSubscription} is handed to a {@link JsonEventSubscriber}
+ * when it {@link JsonEventPublisher#subscribe(JsonEventSubscriber) subscribes}
+ * to a {@link JsonEventPublisher} and can be used to signal demand for events.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public interface JsonEventSubscription {
+
+	/**
+	 * Requests the given number of additional events. Requested events may be
+	 * delivered synchronously, before this method returns.
+	 * 
+	 * @param count
+	 *            The number of additional events. If the given number is not
+	 *            positive, the subscription is cancelled and the
+	 *            {@link JsonEventSubscriber} is notified with an
+	 *            {@link IllegalArgumentException}.
+	 */
+	public void request(long count);
+
+	/**
+	 * Cancels the subscription. No further events will be delivered and the
+	 * producer will be released with a {@link JsonHandlingException} the next
+	 * time it tries to describe an event.
+	 */
+	public void cancel();
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+/**
+ * A {@link JsonEventType} identifies one of the callback methods of a
+ * {@link JsonHandler}.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public enum JsonEventType {
+
+	/**
+	 * Identifies {@link JsonHandler#onDocumentBegin()}.
+	 */
+	DOCUMENT_BEGIN,
+
+	/**
+	 * Identifies {@link JsonHandler#onDocumentEnd()}.
+	 */
+	DOCUMENT_END,
+
+	/**
+	 * Identifies {@link JsonHandler#onArrayBegin()}.
+	 */
+	ARRAY_BEGIN,
+
+	/**
+	 * Identifies {@link JsonHandler#onArrayEnd()}.
+	 */
+	ARRAY_END,
+
+	/**
+	 * Identifies {@link JsonHandler#onObjectBegin()}.
+	 */
+	OBJECT_BEGIN,
+
+	/**
+	 * Identifies {@link JsonHandler#onObjectEnd()}.
+	 */
+	OBJECT_END,
+
+	/**
+	 * Identifies {@link JsonHandler#onName(String)}.
+	 */
+	NAME,
+
+	/**
+	 * Identifies {@link JsonHandler#onNext()}.
+	 */
+	NEXT,
+
+	/**
+	 * Identifies {@link JsonHandler#onNull()}.
+	 */
+	NULL,
+
+	/**
+	 * Identifies {@link JsonHandler#onBoolean(boolean)}.
+	 */
+	BOOLEAN,
+
+	/**
+	 * Identifies {@link JsonHandler#onLong(long)}.
+	 */
+	LONG,
+
+	/**
+	 * Identifies {@link JsonHandler#onDouble(double)}.
+	 */
+	DOUBLE,
+
+	/**
+	 * Identifies {@link JsonHandler#onString(String)}.
+	 */
+	STRING;
+
+	/**
+	 * A bitmask that contains all {@link JsonEventType JsonEventTypes}.
+	 * 
+	 * @since 2.1.0
+	 */
+	public static final int ALL_MASK = (1 << values().length) - 1;
+
+	/**
+	 * Returns the bit that represents this {@link JsonEventType} in a bitmask,
+	 * as returned by {@link EventMaskedJsonHandler#getEventMask()}.
+	 * 
+	 * @return The bit that represents this {@link JsonEventType}.
+	 * 
+	 * @since 2.1.0
+	 */
+	public int getMask() {
+		return 1 << ordinal();
+	}
+
+	/**
+	 * Returns whether this {@link JsonEventType} is contained in the given
+	 * bitmask.
+	 * 
+	 * @param mask
+	 *            The bitmask.
+	 * @return Whether this {@link JsonEventType} is contained in the given
+	 *         bitmask.
+	 * 
+	 * @since 2.1.0
+	 */
+	public boolean isContainedIn(int mask) {
+		return 0 != (mask & getMask());
+	}
+
+	/**
+	 * Returns the event mask of the given {@link JsonHandler}.
+	 * 
+	 * @param handler
+	 *            The {@link JsonHandler}.
+	 * @return The {@link EventMaskedJsonHandler#getEventMask() event mask}, if
+	 *         the given {@link JsonHandler} is an
+	 *         {@link EventMaskedJsonHandler}, or
+	 *         {@link JsonEventType#ALL_MASK}, otherwise.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonHandler} is {@literal null}.
+	 * 
+	 * @since 2.1.0
+	 */
+	public static int eventMaskOf(JsonHandler<?> handler) throws IllegalArgumentException {
+		if (null == handler) {
+			throw new IllegalArgumentException("The given handler is null");
+		}
+		if (handler instanceof EventMaskedJsonHandler) {
+			return ((EventMaskedJsonHandler<?>) handler).getEventMask();
+		}
+		return ALL_MASK;
+	}
+
+	/**
+	 * Returns the bitmask that contains the given {@link JsonEventType
+	 * JsonEventTypes}.
+	 * 
+	 * @param types
+	 *            The {@link JsonEventType JsonEventTypes}.
+	 * @return The bitmask that contains the given {@link JsonEventType
+	 *         JsonEventTypes}.
+	 * 
+	 * @since 2.1.0
+	 */
+	public static int maskOf(JsonEventType... types) {
+		int mask = 0;
+		for (JsonEventType type : types) {
+			mask |= type.getMask();
+		}
+		return mask;
+	}
+
+}
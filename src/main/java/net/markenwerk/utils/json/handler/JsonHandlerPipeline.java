@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link JsonHandlerPipeline} is an immutable sequence of transformations
+ * (renaming entries, removing values, mapping literals) that can be
+ * {@link JsonHandlerPipeline#apply(JsonHandler) applied} in front of a
+ * {@link JsonHandler}.
+ * 
+ * <p>
+ * Instead of stacking one decorating {@link JsonHandler} per transformation,
+ * all transformations are fused into a single {@link JsonHandler} when the
+ * {@link JsonHandlerPipeline} is applied, so that every event is dispatched
+ * only once, regardless of the number of transformations. Events that aren't
+ * affected by any transformation are passed on directly.
+ * 
+ * <p>
+ * {@link JsonNameMapper JsonNameMappers} are applied in the order they have
+ * been added, as are {@link JsonValueMapper JsonValueMappers}.
+ * {@link JsonNameMapper JsonNameMappers} and {@link JsonPathFilter
+ * JsonPathFilters} always observe the original names, therefore their relative
+ * order is irrelevant. A JSON value is retained, if all {@link JsonPathFilter
+ * JsonPathFilters} accept it. The root value of a JSON document is always
+ * retained, because a JSON document without a root value isn't valid. For the
+ * same reason, a {@link JsonValueMapper} that removes the root value causes a
+ * {@link JsonHandlingException}.
+ * 
+ * <p>
+ * A {@link JsonHandlerPipeline} can be shared between threads. Every
+ * {@link JsonHandler} that is returned by
+ * {@link JsonHandlerPipeline#apply(JsonHandler)} holds the state for a single
+ * JSON document at a time and must not be shared.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public final class JsonHandlerPipeline {
+
+	private final JsonNameMapper[] nameMappers;
+
+	private final JsonPathFilter[] pathFilters;
+
+	private final JsonValueMapper[] valueMappers;
+
+	private final boolean dropNulls;
+
+	private JsonHandlerPipeline(Builder builder) {
+		nameMappers = builder.nameMappers.toArray(new JsonNameMapper[builder.nameMappers.size()]);
+		pathFilters = builder.pathFilters.toArray(new JsonPathFilter[builder.pathFilters.size()]);
+		valueMappers = builder.valueMappers.toArray(new JsonValueMapper[builder.valueMappers.size()]);
+		dropNulls = builder.dropNulls;
+	}
+
+	/**
+	 * Applies this {@link JsonHandlerPipeline} in front of the given
+	 * {@link JsonHandler}.
+	 * 
+	 * @param <Result>
+	 *            The result type.
+	 * @param handler
+	 *            The {@link JsonHandler} to receive the transformed events.
+	 * @return A {@link JsonHandler} that transforms all events and passes them
+	 *         on to the given {@link JsonHandler}, or the given
+	 *         {@link JsonHandler} itself, if this {@link JsonHandlerPipeline}
+	 *         is empty.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given {@link JsonHandler} is {@literal null}.
+	 */
+	public <Result> JsonHandler<Result> apply(JsonHandler<Result> handler) throws IllegalArgumentException {
+		if (null == handler) {
+			throw new IllegalArgumentException("The given handler is null");
+		}
+		if (isEmpty()) {
+			return handler;
+		}
+		return new PipelineJsonHandler<Result>(handler, nameMappers, pathFilters, valueMappers, dropNulls);
+	}
+
+	/**
+	 * Returns whether this {@link JsonHandlerPipeline} contains no
+	 * transformations.
+	 * 
+	 * @return Whether this {@link JsonHandlerPipeline} is empty.
+	 */
+	public boolean isEmpty() {
+		return 0 == nameMappers.length && 0 == pathFilters.length && 0 == valueMappers.length && !dropNulls;
+	}
+
+	/**
+	 * A {@link Builder} can be used to create a {@link JsonHandlerPipeline}. A
+	 * {@link Builder} can be used to create multiple
+	 * {@link JsonHandlerPipeline JsonHandlerPipelines}, but it must not be
+	 * shared between threads.
+	 * 
+	 * @author Torsten Krause (tk at markenwerk dot net)
+	 * @since 2.1.0
+	 */
+	public static final class Builder {
+
+		private final List<JsonNameMapper> nameMappers = new ArrayList<JsonNameMapper>();
+
+		private final List<JsonPathFilter> pathFilters = new ArrayList<JsonPathFilter>();
+
+		private final List<JsonValueMapper> valueMappers = new ArrayList<JsonValueMapper>();
+
+		private boolean dropNulls;
+
+		/**
+		 * Creates a new {@link Builder}.
+		 */
+		public Builder() {
+		}
+
+		/**
+		 * Adds a {@link JsonNameMapper}.
+		 * 
+		 * @param nameMapper
+		 *            The {@link JsonNameMapper} to be added.
+		 * @return This {@link Builder}.
+		 * 
+		 * @throws IllegalArgumentException
+		 *             If the given {@link JsonNameMapper} is {@literal null}.
+		 */
+		public Builder mapName(JsonNameMapper nameMapper) throws IllegalArgumentException {
+			if (null == nameMapper) {
+				throw new IllegalArgumentException("The given name mapper is null");
+			}
+			nameMappers.add(nameMapper);
+			return this;
+		}
+
+		/**
+		 * Adds a {@link JsonPathFilter}.
+		 * 
+		 * @param pathFilter
+		 *            The {@link JsonPathFilter} to be added.
+		 * @return This {@link Builder}.
+		 * 
+		 * @throws IllegalArgumentException
+		 *             If the given {@link JsonPathFilter} is {@literal null}.
+		 */
+		public Builder filterPath(JsonPathFilter pathFilter) throws IllegalArgumentException {
+			if (null == pathFilter) {
+				throw new IllegalArgumentException("The given path filter is null");
+			}
+			pathFilters.add(pathFilter);
+			return this;
+		}
+
+		/**
+		 * Adds a {@link JsonValueMapper}.
+		 * 
+		 * @param valueMapper
+		 *            The {@link JsonValueMapper} to be added.
+		 * @return This {@link Builder}.
+		 * 
+		 * @throws IllegalArgumentException
+		 *             If the given {@link JsonValueMapper} is {@literal null}.
+		 */
+		public Builder mapValue(JsonValueMapper valueMapper) throws IllegalArgumentException {
+			if (null == valueMapper) {
+				throw new IllegalArgumentException("The given value mapper is null");
+			}
+			valueMappers.add(valueMapper);
+			return this;
+		}
+
+		/**
+		 * Removes all JSON nulls inside JSON arrays or JSON objects, including
+		 * the names of JSON nulls inside JSON objects. JSON nulls are removed
+		 * after all {@link JsonValueMapper JsonValueMappers} have been applied,
+		 * regardless of the order in which this method is called. A JSON null
+		 * that is the root value of a JSON document is retained.
+		 * 
+		 * @return This {@link Builder}.
+		 */
+		public Builder dropNulls() {
+			dropNulls = true;
+			return this;
+		}
+
+		/**
+		 * Creates a new {@link JsonHandlerPipeline} with all transformations
+		 * that have been added so far.
+		 * 
+		 * @return The new {@link JsonHandlerPipeline}.
+		 */
+		public JsonHandlerPipeline build() {
+			return new JsonHandlerPipeline(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+/**
+ * A {@link JsonNameMapper} can be used in a {@link JsonHandlerPipeline} to
+ * rename the entries of JSON objects.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public interface JsonNameMapper {
+
+	/**
+	 * Maps the name of an entry of a JSON object.
+	 * 
+	 * <p>
+	 * Implementers should catch any exception that isn't a
+	 * {@link JsonException} and wrap them in an appropriate
+	 * {@link JsonException} (e.g. a {@link JsonHandlingException}).
+	 * 
+	 * @param path
+	 *            The {@link JsonPath} of the entry, using the original names.
+	 * @param name
+	 *            The current name of the entry, as yielded by previous
+	 *            {@link JsonNameMapper JsonNameMappers}.
+	 * @return The new name of the entry. Must not be {@literal null}.
+	 * 
+	 * @throws JsonException
+	 *             If the mapping failed.
+	 */
+	public String mapName(JsonPath path, String name) throws JsonException;
+
+}
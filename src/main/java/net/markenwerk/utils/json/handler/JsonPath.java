@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+/**
+ * A {@link JsonPath} describes the position of a JSON value inside the JSON
+ * document that is currently described to a {@link JsonHandler}. Every level
+ * of a {@link JsonPath} is either the name of an entry of a JSON object or the
+ * index of an element of a JSON array.
+ * 
+ * <p>
+ * A {@link JsonPath} is only valid for the duration of the callback it has been
+ * handed to and must not be retained.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public interface JsonPath {
+
+	/**
+	 * Returns the depth of this {@link JsonPath}. The depth of the path of the
+	 * root value of a JSON document is {@literal 0}.
+	 * 
+	 * @return The depth of this {@link JsonPath}.
+	 */
+	public int getDepth();
+
+	/**
+	 * Returns whether the given level of this {@link JsonPath} is the index of
+	 * an element of a JSON array.
+	 * 
+	 * @param level
+	 *            The level, starting at {@literal 0}.
+	 * @return Whether the given level is an index.
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             If the given level is negative or not less than the
+	 *             {@link JsonPath#getDepth() depth}.
+	 */
+	public boolean isIndex(int level) throws IndexOutOfBoundsException;
+
+	/**
+	 * Returns the name of the given level of this {@link JsonPath}.
+	 * 
+	 * @param level
+	 *            The level, starting at {@literal 0}.
+	 * @return The name of the given level or {@literal null}, if the given level
+	 *         {@link JsonPath#isIndex(int) is an index}.
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             If the given level is negative or not less than the
+	 *             {@link JsonPath#getDepth() depth}.
+	 */
+	public String getName(int level) throws IndexOutOfBoundsException;
+
+	/**
+	 * Returns the index of the given level of this {@link JsonPath}.
+	 * 
+	 * @param level
+	 *            The level, starting at {@literal 0}.
+	 * @return The index of the given level or {@literal -1}, if the given level
+	 *         {@link JsonPath#isIndex(int) is a name}.
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             If the given level is negative or not less than the
+	 *             {@link JsonPath#getDepth() depth}.
+	 */
+	public int getIndex(int level) throws IndexOutOfBoundsException;
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+/**
+ * A {@link JsonValueMapper} can be used in a {@link JsonHandlerPipeline} to
+ * replace or remove JSON literals. Every callback method is handed the
+ * {@link JsonHandler} that receives the result of the mapping and should call
+ * exactly one of its value callback methods (i.e. {@link JsonHandler#onNull()},
+ * {@link JsonHandler#onBoolean(boolean)}, {@link JsonHandler#onLong(long)},
+ * {@link JsonHandler#onDouble(double)} or {@link JsonHandler#onString(String)})
+ * or none at all, in which case the JSON literal, including its name, is
+ * removed.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public interface JsonValueMapper {
+
+	/**
+	 * Maps a JSON null.
+	 * 
+	 * <p>
+	 * Implementers should catch any exception that isn't a
+	 * {@link JsonException} and wrap them in an appropriate
+	 * {@link JsonException} (e.g. a {@link JsonHandlingException}).
+	 * 
+	 * @param next
+	 *            The {@link JsonHandler} to pass the mapped value to.
+	 * 
+	 * @throws JsonException
+	 *             If the mapping failed.
+	 */
+	public void onNull(JsonHandler<?> next) throws JsonException;
+
+	/**
+	 * Maps a JSON boolean.
+	 * 
+	 * <p>
+	 * Implementers should catch any exception that isn't a
+	 * {@link JsonException} and wrap them in an appropriate
+	 * {@link JsonException} (e.g. a {@link JsonHandlingException}).
+	 * 
+	 * @param value
+	 *            The value of the JSON boolean.
+	 * @param next
+	 *            The {@link JsonHandler} to pass the mapped value to.
+	 * 
+	 * @throws JsonException
+	 *             If the mapping failed.
+	 */
+	public void onBoolean(boolean value, JsonHandler<?> next) throws JsonException;
+
+	/**
+	 * Maps a JSON number, that represents an integer value.
+	 * 
+	 * <p>
+	 * Implementers should catch any exception that isn't a
+	 * {@link JsonException} and wrap them in an appropriate
+	 * {@link JsonException} (e.g. a {@link JsonHandlingException}).
+	 * 
+	 * @param value
+	 *            The value of the JSON number.
+	 * @param next
+	 *            The {@link JsonHandler} to pass the mapped value to.
+	 * 
+	 * @throws JsonException
+	 *             If the mapping failed.
+	 */
+	public void onLong(long value, JsonHandler<?> next) throws JsonException;
+
+	/**
+	 * Maps a JSON number, that represents a decimal value.
+	 * 
+	 * <p>
+	 * Implementers should catch any exception that isn't a
+	 * {@link JsonException} and wrap them in an appropriate
+	 * {@link JsonException} (e.g. a {@link JsonHandlingException}).
+	 * 
+	 * @param value
+	 *            The value of the JSON number.
+	 * @param next
+	 *            The {@link JsonHandler} to pass the mapped value to.
+	 * 
+	 * @throws JsonException
+	 *             If the mapping failed.
+	 */
+	public void onDouble(double value, JsonHandler<?> next) throws JsonException;
+
+	/**
+	 * Maps a JSON string.
+	 * 
+	 * <p>
+	 * Implementers should catch any exception that isn't a
+	 * {@link JsonException} and wrap them in an appropriate
+	 * {@link JsonException} (e.g. a {@link JsonHandlingException}).
+	 * 
+	 * @param value
+	 *            The value of the JSON string.
+	 * @param next
+	 *            The {@link JsonHandler} to pass the mapped value to.
+	 * 
+	 * @throws JsonException
+	 *             If the mapping failed.
+	 */
+	public void onString(String value, JsonHandler<?> next) throws JsonException;
+
+}
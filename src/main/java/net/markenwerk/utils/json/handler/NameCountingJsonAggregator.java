@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import java.util.Map;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+/**
+ * A {@link NameCountingJsonAggregator} is a {@link ConcurrentJsonAggregator}
+ * that counts how often every name of an entry of a JSON object occurs in all
+ * JSON documents, as well as the number of JSON documents.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public final class NameCountingJsonAggregator extends ConcurrentJsonAggregator<Map<String, Long>> {
+
+	private final ConcurrentLongMap<String> nameCounts = new ConcurrentLongMap<String>();
+
+	private final StripedLongCounter documentCount = new StripedLongCounter();
+
+	/**
+	 * Creates a new {@link NameCountingJsonAggregator}.
+	 */
+	public NameCountingJsonAggregator() {
+	}
+
+	@Override
+	public JsonHandler<Map<String, Long>> createHandler() {
+		return new IdleJsonHandler<Map<String, Long>>() {
+
+			@Override
+			public void onDocumentEnd() throws JsonException {
+				documentCount.increment();
+			}
+
+			@Override
+			public void onName(String name) throws JsonException {
+				checkName(name);
+				nameCounts.increment(name);
+			}
+
+			@Override
+			public Map<String, Long> getResult() throws JsonException {
+				return NameCountingJsonAggregator.this.getResult();
+			}
+
+		};
+	}
+
+	/**
+	 * Returns how often every name occurred.
+	 * 
+	 * @return A new {@link Map} with the number of occurrences for every name.
+	 */
+	@Override
+	public Map<String, Long> getResult() {
+		return nameCounts.toMap();
+	}
+
+	/**
+	 * Returns how often the given name occurred.
+	 * 
+	 * @param name
+	 *            The name.
+	 * @return The number of occurrences of the given name.
+	 */
+	public long getNameCount(String name) {
+		return nameCounts.get(name);
+	}
+
+	/**
+	 * Returns the number of completely handled JSON documents.
+	 * 
+	 * @return The number of JSON documents.
+	 */
+	public long getDocumentCount() {
+		return documentCount.sum();
+	}
+
+}
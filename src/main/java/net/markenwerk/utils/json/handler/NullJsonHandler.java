@@ -22,17 +22,55 @@
 package net.markenwerk.utils.json.handler;
 
 /**
- * A {@link NullJsonHandler} is an {@link IdleJsonHandler} that does nothing.
+ * A {@link NullJsonHandler} is an {@link IdleJsonHandler} that does nothing,
+ * except {@link IdleJsonHandler#checkName(String) checking} the given names and
+ * values.
+ * 
+ * <p>
+ * Use {@link NullJsonHandler#create(boolean)} to choose between a
+ * {@link NullJsonHandler} and an unchecked {@link SinkJsonHandler}.
  * 
  * @author Torsten Krause (tk at markenwerk dot net)
  * @since 1.0.0
  */
 public final class NullJsonHandler extends IdleJsonHandler<Void> {
 
+	private static final int EVENT_MASK = JsonEventType.maskOf(JsonEventType.NAME, JsonEventType.DOUBLE,
+			JsonEventType.STRING);
+
 	/**
 	 * Creates a new {@link NullJsonHandler}
 	 */
 	public NullJsonHandler() {
 	}
 
+	/**
+	 * Returns the event mask of this {@link NullJsonHandler}, which contains
+	 * names, JSON numbers that represent a decimal value and JSON strings,
+	 * such that these are still checked.
+	 * 
+	 * @return The event mask.
+	 * 
+	 * @since 2.1.0
+	 */
+	@Override
+	public int getEventMask() {
+		return EVENT_MASK;
+	}
+
+	/**
+	 * Returns a {@link JsonHandler} that does nothing.
+	 * 
+	 * @param checked
+	 *            Whether the returned {@link JsonHandler} should check the
+	 *            given names and values.
+	 * @return A new {@link NullJsonHandler}, if checked, or the shared
+	 *         {@link SinkJsonHandler#INSTANCE}, otherwise.
+	 * 
+	 * @since 2.1.0
+	 */
+	public static JsonHandler<Void> create(boolean checked) {
+		return checked ? new NullJsonHandler() : SinkJsonHandler.INSTANCE;
+	}
+
 }
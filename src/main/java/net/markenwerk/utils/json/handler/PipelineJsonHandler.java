@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import net.markenwerk.utils.json.common.JsonException;
+import net.markenwerk.utils.json.common.JsonIndexException;
+import net.markenwerk.utils.json.common.JsonValueException;
+
+/**
+ * A {@link PipelineJsonHandler} is a {@link JsonHandler} that applies all
+ * transformations of a {@link JsonHandlerPipeline} and passes the resulting
+ * events on to another {@link JsonHandler}.
+ * 
+ * <p>
+ * Calls to {@link JsonHandler#onName(String)} and {@link JsonHandler#onNext()}
+ * are deferred until the next JSON value is known to be retained, such that
+ * removed JSON values don't leave orphaned names or separators behind.
+ * Therefore, all JSON values are consumed, if the {@link JsonHandler} consumes
+ * names or separators or if any {@link JsonValueMapper} is used. Otherwise,
+ * only JSON values that are consumed by the {@link JsonHandler} are consumed.
+ * 
+ * <p>
+ * All {@link JsonValueMapper JsonValueMappers} are called from a single loop
+ * that passes the mapped value on to the next {@link JsonValueMapper} through
+ * a reused collecting {@link JsonHandler}. Removing JSON nulls is a flag that
+ * is checked before any {@link JsonPathFilter} is consulted, if no
+ * {@link JsonValueMapper} is used.
+ * 
+ * @param <Result>
+ *            The result type.
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+final class PipelineJsonHandler<Result> implements EventMaskedJsonHandler<Result>, JsonPath {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private static final int STRUCTURE_MASK = JsonEventType.maskOf(JsonEventType.DOCUMENT_BEGIN,
+			JsonEventType.ARRAY_BEGIN, JsonEventType.ARRAY_END, JsonEventType.OBJECT_BEGIN, JsonEventType.OBJECT_END,
+			JsonEventType.NAME, JsonEventType.NEXT);
+
+	private static final int DEFERRED_MASK = JsonEventType.maskOf(JsonEventType.NAME, JsonEventType.NEXT);
+
+	private final JsonHandler<Result> handler;
+
+	private final JsonNameMapper[] nameMappers;
+
+	private final JsonPathFilter[] pathFilters;
+
+	private final JsonValueMapper[] valueMappers;
+
+	private final boolean dropNulls;
+
+	private final CollectingJsonHandler collector = new CollectingJsonHandler();
+
+	private final int eventMask;
+
+	private boolean[] arrays = new boolean[INITIAL_CAPACITY];
+
+	private String[] names = new String[INITIAL_CAPACITY];
+
+	private int[] indices = new int[INITIAL_CAPACITY];
+
+	private boolean[] nonEmpty = new boolean[INITIAL_CAPACITY];
+
+	private int depth;
+
+	private int skipDepth;
+
+	public PipelineJsonHandler(JsonHandler<Result> handler, JsonNameMapper[] nameMappers,
+			JsonPathFilter[] pathFilters, JsonValueMapper[] valueMappers, boolean dropNulls) {
+		this.handler = handler;
+		this.nameMappers = nameMappers;
+		this.pathFilters = pathFilters;
+		this.valueMappers = valueMappers;
+		this.dropNulls = dropNulls;
+		this.eventMask = calculateEventMask(JsonEventType.eventMaskOf(handler), valueMappers.length);
+	}
+
+	private static int calculateEventMask(int handlerEventMask, int valueMapperCount) {
+		if (0 != valueMapperCount || 0 != (handlerEventMask & DEFERRED_MASK)) {
+			return JsonEventType.ALL_MASK;
+		}
+		return handlerEventMask | STRUCTURE_MASK;
+	}
+
+	@Override
+	public int getDepth() {
+		return depth;
+	}
+
+	@Override
+	public boolean isIndex(int level) throws IndexOutOfBoundsException {
+		checkLevel(level);
+		return arrays[level];
+	}
+
+	@Override
+	public String getName(int level) throws IndexOutOfBoundsException {
+		checkLevel(level);
+		return arrays[level] ? null : names[level];
+	}
+
+	@Override
+	public int getIndex(int level) throws IndexOutOfBoundsException {
+		checkLevel(level);
+		return arrays[level] ? indices[level] : -1;
+	}
+
+	private void checkLevel(int level) throws IndexOutOfBoundsException {
+		if (level < 0 || level >= depth) {
+			throw new IndexOutOfBoundsException("The given level " + level + " is not in [0, " + depth + ")");
+		}
+	}
+
+	@Override
+	public void onDocumentBegin() throws JsonException {
+		depth = 0;
+		skipDepth = 0;
+		handler.onDocumentBegin();
+	}
+
+	@Override
+	public void onDocumentEnd() throws JsonException {
+		handler.onDocumentEnd();
+	}
+
+	@Override
+	public void onArrayBegin() throws JsonException {
+		if (beginSkippableContainer()) {
+			handler.onArrayBegin();
+			pushLevel(true);
+		}
+	}
+
+	@Override
+	public void onArrayEnd() throws JsonException {
+		if (endSkippableContainer()) {
+			handler.onArrayEnd();
+		}
+	}
+
+	@Override
+	public void onObjectBegin() throws JsonException {
+		if (beginSkippableContainer()) {
+			handler.onObjectBegin();
+			pushLevel(false);
+		}
+	}
+
+	@Override
+	public void onObjectEnd() throws JsonException {
+		if (endSkippableContainer()) {
+			handler.onObjectEnd();
+		}
+	}
+
+	private boolean beginSkippableContainer() throws JsonException {
+		if (0 != skipDepth || !accept()) {
+			skipDepth++;
+			return false;
+		}
+		beginValue();
+		return true;
+	}
+
+	private boolean endSkippableContainer() {
+		if (0 != skipDepth) {
+			skipDepth--;
+			return false;
+		}
+		depth--;
+		return true;
+	}
+
+	private void pushLevel(boolean array) {
+		if (depth == arrays.length) {
+			int capacity = depth * 2;
+			arrays = copyOf(arrays, capacity);
+			names = copyOf(names, capacity);
+			indices = copyOf(indices, capacity);
+			nonEmpty = copyOf(nonEmpty, capacity);
+		}
+		arrays[depth] = array;
+		names[depth] = null;
+		indices[depth] = 0;
+		nonEmpty[depth] = false;
+		depth++;
+	}
+
+	private static boolean[] copyOf(boolean[] values, int capacity) {
+		boolean[] copy = new boolean[capacity];
+		System.arraycopy(values, 0, copy, 0, values.length);
+		return copy;
+	}
+
+	private static String[] copyOf(String[] values, int capacity) {
+		String[] copy = new String[capacity];
+		System.arraycopy(values, 0, copy, 0, values.length);
+		return copy;
+	}
+
+	private static int[] copyOf(int[] values, int capacity) {
+		int[] copy = new int[capacity];
+		System.arraycopy(values, 0, copy, 0, values.length);
+		return copy;
+	}
+
+	@Override
+	public void onName(String name) throws JsonIndexException, JsonException {
+		IdleJsonHandler.checkName(name);
+		if (0 == skipDepth && 0 != depth) {
+			names[depth - 1] = name;
+		}
+	}
+
+	@Override
+	public void onNext() throws JsonException {
+		if (0 == skipDepth && 0 != depth && arrays[depth - 1]) {
+			indices[depth - 1]++;
+		}
+	}
+
+	@Override
+	public void onNull() throws JsonException {
+		if (0 == skipDepth && !(dropNulls && 0 != depth && 0 == valueMappers.length) && accept()) {
+			handleValue(JsonEventType.NULL, 0, null);
+		}
+	}
+
+	@Override
+	public void onBoolean(boolean value) throws JsonException {
+		if (0 == skipDepth && accept()) {
+			handleValue(JsonEventType.BOOLEAN, value ? 1 : 0, null);
+		}
+	}
+
+	@Override
+	public void onLong(long value) throws JsonException {
+		if (0 == skipDepth && accept()) {
+			handleValue(JsonEventType.LONG, value, null);
+		}
+	}
+
+	@Override
+	public void onDouble(double value) throws JsonValueException, JsonException {
+		IdleJsonHandler.checkDouble(value);
+		if (0 == skipDepth && accept()) {
+			handleValue(JsonEventType.DOUBLE, Double.doubleToRawLongBits(value), null);
+		}
+	}
+
+	@Override
+	public void onString(String value) throws JsonValueException, JsonException {
+		IdleJsonHandler.checkString(value);
+		if (0 == skipDepth && accept()) {
+			handleValue(JsonEventType.STRING, 0, value);
+		}
+	}
+
+	@Override
+	public Result getResult() throws JsonException {
+		return handler.getResult();
+	}
+
+	@Override
+	public int getEventMask() {
+		return eventMask;
+	}
+
+	private boolean accept() throws JsonException {
+		if (0 == depth) {
+			return true;
+		}
+		for (JsonPathFilter pathFilter : pathFilters) {
+			if (!pathFilter.accept(this)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void beginValue() throws JsonException {
+		if (0 != depth) {
+			int level = depth - 1;
+			if (nonEmpty[level]) {
+				handler.onNext();
+			} else {
+				nonEmpty[level] = true;
+			}
+			if (!arrays[level]) {
+				String name = names[level];
+				for (JsonNameMapper nameMapper : nameMappers) {
+					name = nameMapper.mapName(this, name);
+				}
+				handler.onName(name);
+			}
+		}
+	}
+
+	private void handleValue(JsonEventType type, long primitive, String string) throws JsonException {
+		for (JsonValueMapper valueMapper : valueMappers) {
+			collector.type = null;
+			switch (type) {
+			case NULL:
+				valueMapper.onNull(collector);
+				break;
+			case BOOLEAN:
+				valueMapper.onBoolean(0 != primitive, collector);
+				break;
+			case LONG:
+				valueMapper.onLong(primitive, collector);
+				break;
+			case DOUBLE:
+				valueMapper.onDouble(Double.longBitsToDouble(primitive), collector);
+				break;
+			default:
+				valueMapper.onString(string, collector);
+				break;
+			}
+			if (null == collector.type) {
+				if (0 == depth) {
+					throw new JsonHandlingException("A value mapper removed the root value");
+				}
+				return;
+			}
+			type = collector.type;
+			primitive = collector.primitive;
+			string = collector.string;
+		}
+		if (dropNulls && 0 != depth && JsonEventType.NULL == type) {
+			return;
+		}
+		beginValue();
+		JsonEventBuffer.dispatch(type, primitive, string, handler);
+	}
+
+	private static final class CollectingJsonHandler extends IdleJsonHandler<Void> {
+
+		private JsonEventType type;
+
+		private long primitive;
+
+		private String string;
+
+		@Override
+		public void onNull() throws JsonException {
+			collect(JsonEventType.NULL, 0, null);
+		}
+
+		@Override
+		public void onBoolean(boolean value) throws JsonException {
+			collect(JsonEventType.BOOLEAN, value ? 1 : 0, null);
+		}
+
+		@Override
+		public void onLong(long value) throws JsonException {
+			collect(JsonEventType.LONG, value, null);
+		}
+
+		@Override
+		public void onDouble(double value) throws JsonValueException, JsonException {
+			checkDouble(value);
+			collect(JsonEventType.DOUBLE, Double.doubleToRawLongBits(value), null);
+		}
+
+		@Override
+		public void onString(String value) throws JsonValueException, JsonException {
+			checkString(value);
+			collect(JsonEventType.STRING, 0, value);
+		}
+
+		private void collect(JsonEventType type, long primitive, String string) throws JsonHandlingException {
+			if (null != this.type) {
+				throw new JsonHandlingException("A value mapper passed on more than one value");
+			}
+			this.type = type;
+			this.primitive = primitive;
+			this.string = string;
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+/**
+ * A {@link SinkJsonHandler} is a {@link JsonHandler} that does nothing, not
+ * even {@link IdleJsonHandler#checkName(String) check} the given names or
+ * values.
+ * 
+ * <p>
+ * Unlike a {@link NullJsonHandler}, all callback methods of a
+ * {@link SinkJsonHandler} are truly empty, which allows them to be inlined away
+ * completely. It is intended to drain producers or to discard rejected JSON
+ * documents as fast as possible. Its
+ * {@link SinkJsonHandler#getEventMask() event mask} is empty, which allows
+ * callers to skip all events. Use a {@link NullJsonHandler} to also check
+ * that the described JSON document is valid.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public final class SinkJsonHandler implements EventMaskedJsonHandler<Void> {
+
+	/**
+	 * A shared {@link SinkJsonHandler}.
+	 */
+	public static final SinkJsonHandler INSTANCE = new SinkJsonHandler();
+
+	/**
+	 * Creates a new {@link SinkJsonHandler}
+	 */
+	public SinkJsonHandler() {
+	}
+
+	@Override
+	public void onDocumentBegin() throws JsonException {
+	}
+
+	@Override
+	public void onDocumentEnd() throws JsonException {
+	}
+
+	@Override
+	public void onArrayBegin() throws JsonException {
+	}
+
+	@Override
+	public void onArrayEnd() throws JsonException {
+	}
+
+	@Override
+	public void onObjectBegin() throws JsonException {
+	}
+
+	@Override
+	public void onObjectEnd() throws JsonException {
+	}
+
+	@Override
+	public void onName(String name) throws JsonException {
+	}
+
+	@Override
+	public void onNext() throws JsonException {
+	}
+
+	@Override
+	public void onNull() throws JsonException {
+	}
+
+	@Override
+	public void onBoolean(boolean value) throws JsonException {
+	}
+
+	@Override
+	public void onLong(long value) throws JsonException {
+	}
+
+	@Override
+	public void onDouble(double value) throws JsonException {
+	}
+
+	@Override
+	public void onString(String value) throws JsonException {
+	}
+
+	@Override
+	public Void getResult() throws JsonException {
+		return null;
+	}
+
+	@Override
+	public int getEventMask() {
+		return 0;
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016 Torsten Krause, Markenwerk GmbH
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package net.markenwerk.utils.json.handler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A {@link StripedLongCounter} is a thread-safe counter that spreads
+ * concurrent updates over multiple cache-line-aligned stripes, such that
+ * threads that update the counter concurrently rarely contend for the same
+ * memory location. Every thread starts at a stripe that depends on its
+ * identity and moves on to another stripe whenever an update of its current
+ * stripe fails due to contention.
+ * 
+ * <p>
+ * The stripes are only allocated after the first contended update. Until
+ * then, a {@link StripedLongCounter} is not larger than a single
+ * {@link java.util.concurrent.atomic.AtomicLong}, which makes it cheap to use
+ * one {@link StripedLongCounter} per key of a large map.
+ * 
+ * <p>
+ * Updates are lock-free. The {@link StripedLongCounter#sum() sum} is
+ * calculated by adding up all stripes and is therefore not an atomic snapshot
+ * while the counter is updated concurrently.
+ * 
+ * @author Torsten Krause (tk at markenwerk dot net)
+ * @since 2.1.0
+ */
+public final class StripedLongCounter {
+
+	private static final int PADDING = 8;
+
+	private static final ThreadLocal<int[]> PROBES = new ThreadLocal<int[]>() {
+
+		@Override
+		protected int[] initialValue() {
+			int probe = (int) (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32);
+			return new int[] { 0 == probe ? 1 : probe };
+		}
+
+	};
+
+	private static final AtomicLongFieldUpdater<StripedLongCounter> BASE_UPDATER = AtomicLongFieldUpdater
+			.newUpdater(StripedLongCounter.class, "base");
+
+	private static final AtomicReferenceFieldUpdater<StripedLongCounter, AtomicLongArray> STRIPES_UPDATER = AtomicReferenceFieldUpdater
+			.newUpdater(StripedLongCounter.class, AtomicLongArray.class, "stripes");
+
+	private final int stripeMask;
+
+	private volatile long base;
+
+	private volatile AtomicLongArray stripes;
+
+	/**
+	 * Creates a new {@link StripedLongCounter} with a number of stripes that
+	 * depends on the number of available processors.
+	 */
+	public StripedLongCounter() {
+		this(Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Creates a new {@link StripedLongCounter}.
+	 * 
+	 * @param concurrency
+	 *            The expected number of concurrently updating threads. The
+	 *            number of stripes is rounded up to the next power of two.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given concurrency is not positive.
+	 */
+	public StripedLongCounter(int concurrency) throws IllegalArgumentException {
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("The given concurrency is not positive");
+		}
+		int stripeCount = Integer.highestOneBit(concurrency);
+		if (stripeCount < concurrency) {
+			stripeCount <<= 1;
+		}
+		stripeMask = stripeCount - 1;
+	}
+
+	/**
+	 * Adds the given value.
+	 * 
+	 * @param value
+	 *            The value to be added.
+	 */
+	public void add(long value) {
+		AtomicLongArray stripes = this.stripes;
+		if (null == stripes) {
+			long current = base;
+			if (BASE_UPDATER.compareAndSet(this, current, current + value)) {
+				return;
+			}
+			stripes = getStripes();
+		}
+		int[] probeHolder = PROBES.get();
+		int probe = probeHolder[0];
+		while (true) {
+			int index = (probe & stripeMask) * PADDING;
+			long current = stripes.get(index);
+			if (stripes.compareAndSet(index, current, current + value)) {
+				return;
+			}
+			probe ^= probe << 13;
+			probe ^= probe >>> 17;
+			probe ^= probe << 5;
+			probeHolder[0] = probe;
+		}
+	}
+
+	private AtomicLongArray getStripes() {
+		AtomicLongArray stripes = this.stripes;
+		if (null == stripes) {
+			STRIPES_UPDATER.compareAndSet(this, null, new AtomicLongArray((stripeMask + 1) * PADDING));
+			stripes = this.stripes;
+		}
+		return stripes;
+	}
+
+	/**
+	 * Adds one.
+	 */
+	public void increment() {
+		add(1);
+	}
+
+	/**
+	 * Returns the sum of all added values.
+	 * 
+	 * @return The sum of all added values.
+	 */
+	public long sum() {
+		long sum = base;
+		AtomicLongArray stripes = this.stripes;
+		if (null != stripes) {
+			for (int i = 0, n = stripes.length(); i < n; i += PADDING) {
+				sum += stripes.get(i);
+			}
+		}
+		return sum;
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString(sum());
+	}
+
+}
@@ -0,0 +1,52 @@
+package net.markenwerk.utils.json.handler;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ConcurrentAppendBufferTests {
+
+	@Test
+	public void add() {
+
+		ConcurrentAppendBuffer<String> buffer = new ConcurrentAppendBuffer<String>();
+
+		buffer.add("foo");
+		buffer.add("bar");
+
+		Assert.assertEquals(2, buffer.size());
+		Assert.assertEquals(Arrays.asList("foo", "bar"), buffer.toList());
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void add_null() {
+
+		new ConcurrentAppendBuffer<String>().add(null);
+
+	}
+
+	@Test
+	public void add_concurrent() throws InterruptedException {
+
+		final ConcurrentAppendBuffer<Integer> buffer = new ConcurrentAppendBuffer<Integer>();
+
+		ConcurrentRunner.run(8, new Runnable() {
+
+			@Override
+			public void run() {
+				for (int j = 0; j < 10000; j++) {
+					buffer.add(j);
+				}
+			}
+
+		});
+
+		Assert.assertEquals(80000, buffer.size());
+		Assert.assertEquals(80000, buffer.toList().size());
+
+	}
+
+}
@@ -0,0 +1,67 @@
+package net.markenwerk.utils.json.handler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ConcurrentJsonAggregatorTests {
+
+	@Test
+	public void aggregate_reusesHandler() throws InterruptedException {
+
+		final CountingJsonAggregator aggregator = new CountingJsonAggregator();
+
+		ConcurrentRunner.run(8, new Runnable() {
+
+			@Override
+			public void run() {
+				for (int j = 0; j < 100; j++) {
+					aggregator.aggregate(new JsonProducer() {
+
+						@Override
+						public void produce(JsonHandler<?> handler) {
+							handler.onDocumentBegin();
+							handler.onNull();
+							handler.onDocumentEnd();
+						}
+
+					});
+				}
+			}
+
+		});
+
+		Assert.assertEquals(8, aggregator.handlerCount.get());
+		Assert.assertEquals(Long.valueOf(800), aggregator.getResult());
+
+	}
+
+	private static final class CountingJsonAggregator extends ConcurrentJsonAggregator<Long> {
+
+		private final AtomicInteger handlerCount = new AtomicInteger();
+
+		private final StripedLongCounter documentCount = new StripedLongCounter();
+
+		@Override
+		public JsonHandler<Long> createHandler() {
+			handlerCount.incrementAndGet();
+			return new IdleJsonHandler<Long>() {
+
+				@Override
+				public void onDocumentEnd() {
+					documentCount.increment();
+				}
+
+			};
+		}
+
+		@Override
+		public Long getResult() {
+			return documentCount.sum();
+		}
+
+	}
+
+}
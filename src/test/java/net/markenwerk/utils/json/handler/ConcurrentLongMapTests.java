@@ -0,0 +1,67 @@
+package net.markenwerk.utils.json.handler;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ConcurrentLongMapTests {
+
+	@Test
+	public void get_missing() {
+
+		ConcurrentLongMap<String> map = new ConcurrentLongMap<String>();
+
+		Assert.assertEquals(0, map.get("foo"));
+
+	}
+
+	@Test
+	public void add() {
+
+		ConcurrentLongMap<String> map = new ConcurrentLongMap<String>();
+
+		map.add("foo", 40);
+		map.increment("foo");
+		map.increment("bar");
+
+		Assert.assertEquals(41, map.get("foo"));
+		Assert.assertEquals(1, map.get("bar"));
+		Assert.assertEquals(2, map.size());
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void add_nullKey() {
+
+		new ConcurrentLongMap<String>().increment(null);
+
+	}
+
+	@Test
+	public void add_concurrent() throws InterruptedException {
+
+		final ConcurrentLongMap<Integer> map = new ConcurrentLongMap<Integer>();
+
+		ConcurrentRunner.run(8, new Runnable() {
+
+			@Override
+			public void run() {
+				for (int j = 0; j < 10000; j++) {
+					map.increment(j % 10);
+				}
+			}
+
+		});
+
+		Map<Integer, Long> result = map.toMap();
+
+		Assert.assertEquals(10, result.size());
+		for (Long value : result.values()) {
+			Assert.assertEquals(8000L, value.longValue());
+		}
+
+	}
+
+}
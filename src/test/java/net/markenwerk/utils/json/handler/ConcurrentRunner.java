@@ -0,0 +1,38 @@
+package net.markenwerk.utils.json.handler;
+
+@SuppressWarnings("javadoc")
+final class ConcurrentRunner {
+
+	private ConcurrentRunner() {
+	}
+
+	public static void run(int threadCount, final Runnable runnable) throws InterruptedException {
+		final Throwable[] failures = new Throwable[threadCount];
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			final int index = i;
+			threads[i] = new Thread() {
+
+				@Override
+				public void run() {
+					try {
+						runnable.run();
+					} catch (Throwable throwable) {
+						failures[index] = throwable;
+					}
+				}
+
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (Throwable failure : failures) {
+			if (null != failure) {
+				throw new AssertionError(failure);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package net.markenwerk.utils.json.handler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class IdleJsonHandlerTests {
+
+	@Test
+	public void getEventMask_overridden() {
+
+		JsonHandler<Void> handler = new IdleJsonHandler<Void>() {
+
+			@Override
+			public void onName(String name) {
+			}
+
+			@Override
+			public void onString(String value) {
+			}
+
+		};
+
+		int eventMask = JsonEventType.eventMaskOf(handler);
+
+		Assert.assertEquals(JsonEventType.maskOf(JsonEventType.NAME, JsonEventType.STRING), eventMask);
+
+	}
+
+	@Test
+	public void getEventMask_inherited() {
+
+		JsonHandler<String> handler = new TextJsonHandler() {
+
+			@Override
+			public void onLong(long value) {
+			}
+
+		};
+
+		int eventMask = JsonEventType.eventMaskOf(handler);
+
+		Assert.assertEquals(JsonEventType.ALL_MASK & ~JsonEventType.DOCUMENT_END.getMask(), eventMask);
+
+	}
+
+	@Test
+	public void getEventMask_cached() {
+
+		IdleJsonHandler<String> handler = new TextJsonHandler();
+
+		Assert.assertEquals(handler.getEventMask(), handler.getEventMask());
+		Assert.assertEquals(handler.getEventMask(), new TextJsonHandler().getEventMask());
+
+	}
+
+	@Test
+	public void eventMaskOf_unmasked() {
+
+		JsonHandler<Void> handler = new JsonEventPublisher();
+
+		int eventMask = JsonEventType.eventMaskOf(handler);
+
+		Assert.assertEquals(JsonEventType.ALL_MASK, eventMask);
+
+	}
+
+}
@@ -0,0 +1,284 @@
+package net.markenwerk.utils.json.handler;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+@SuppressWarnings("javadoc")
+public class JsonCursorTests {
+
+	@Test
+	public void next() {
+
+		JsonCursor cursor = new JsonCursor(new JsonProducer() {
+
+			@Override
+			public void produce(JsonHandler<?> handler) {
+				handler.onDocumentBegin();
+				handler.onObjectBegin();
+				handler.onName("a");
+				handler.onArrayBegin();
+				handler.onNull();
+				handler.onNext();
+				handler.onBoolean(true);
+				handler.onNext();
+				handler.onLong(42);
+				handler.onNext();
+				handler.onDouble(23.5);
+				handler.onNext();
+				handler.onString("foo");
+				handler.onArrayEnd();
+				handler.onObjectEnd();
+				handler.onDocumentEnd();
+			}
+
+		});
+
+		Assert.assertEquals(JsonEventType.DOCUMENT_BEGIN, cursor.next());
+		Assert.assertEquals(JsonEventType.OBJECT_BEGIN, cursor.next());
+		Assert.assertEquals(JsonEventType.NAME, cursor.next());
+		Assert.assertEquals("a", cursor.getName());
+		Assert.assertEquals(JsonEventType.ARRAY_BEGIN, cursor.next());
+		Assert.assertEquals(JsonEventType.NULL, cursor.next());
+		Assert.assertEquals(JsonEventType.NEXT, cursor.next());
+		Assert.assertEquals(JsonEventType.BOOLEAN, cursor.next());
+		Assert.assertTrue(cursor.getBoolean());
+		Assert.assertEquals(JsonEventType.NEXT, cursor.next());
+		Assert.assertEquals(JsonEventType.LONG, cursor.next());
+		Assert.assertEquals(42, cursor.getLong());
+		Assert.assertEquals(JsonEventType.NEXT, cursor.next());
+		Assert.assertEquals(JsonEventType.DOUBLE, cursor.next());
+		Assert.assertEquals(23.5, cursor.getDouble(), 0);
+		Assert.assertEquals(JsonEventType.NEXT, cursor.next());
+		Assert.assertEquals(JsonEventType.STRING, cursor.next());
+		Assert.assertEquals("foo", cursor.getString());
+		Assert.assertEquals(JsonEventType.ARRAY_END, cursor.next());
+		Assert.assertEquals(JsonEventType.OBJECT_END, cursor.next());
+		Assert.assertEquals(JsonEventType.DOCUMENT_END, cursor.next());
+		Assert.assertFalse(cursor.hasNext());
+
+	}
+
+	@Test
+	public void next_smallCapacity() {
+
+		JsonCursor cursor = new JsonCursor(new LongArrayJsonProducer(10000), 4, new ThreadExecutor());
+
+		long sum = 0;
+		while (cursor.hasNext()) {
+			if (JsonEventType.LONG == cursor.next()) {
+				sum += cursor.getLong();
+			}
+		}
+
+		Assert.assertEquals(49995000, sum);
+
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void next_exhausted() {
+
+		JsonCursor cursor = new JsonCursor(new LongArrayJsonProducer(0));
+
+		while (cursor.hasNext()) {
+			cursor.next();
+		}
+		cursor.next();
+
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void getLong_wrongType() {
+
+		JsonCursor cursor = new JsonCursor(new LongArrayJsonProducer(1));
+
+		cursor.next();
+		cursor.getLong();
+
+	}
+
+	@Test(expected = JsonHandlingException.class)
+	public void hasNext_producerFailed() {
+
+		JsonCursor cursor = new JsonCursor(new JsonProducer() {
+
+			@Override
+			public void produce(JsonHandler<?> handler) {
+				handler.onDocumentBegin();
+				throw new IllegalStateException();
+			}
+
+		});
+
+		Assert.assertEquals(JsonEventType.DOCUMENT_BEGIN, cursor.next());
+		cursor.hasNext();
+
+	}
+
+	@Test
+	public void hasNext_producerError() {
+
+		JsonCursor cursor = new JsonCursor(new JsonProducer() {
+
+			@Override
+			public void produce(JsonHandler<?> handler) {
+				handler.onDocumentBegin();
+				throw new AssertionError();
+			}
+
+		}, 16, new Executor() {
+
+			@Override
+			public void execute(Runnable runnable) {
+				Thread thread = new Thread(runnable);
+				thread.setUncaughtExceptionHandler(new UncaughtExceptionHandler() {
+
+					@Override
+					public void uncaughtException(Thread thread, Throwable throwable) {
+					}
+
+				});
+				thread.start();
+			}
+
+		});
+
+		Assert.assertEquals(JsonEventType.DOCUMENT_BEGIN, cursor.next());
+		try {
+			cursor.hasNext();
+			Assert.fail();
+		} catch (JsonHandlingException e) {
+			Assert.assertTrue(e.getCause() instanceof AssertionError);
+		}
+
+	}
+
+	@Test
+	public void hasNext_executorRejected() {
+
+		JsonCursor cursor = new JsonCursor(new LongArrayJsonProducer(1), 16, new Executor() {
+
+			@Override
+			public void execute(Runnable runnable) {
+				throw new RejectedExecutionException();
+			}
+
+		});
+
+		try {
+			cursor.hasNext();
+			Assert.fail();
+		} catch (JsonHandlingException e) {
+			Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+		}
+
+	}
+
+	@Test
+	public void next_callerRuns() {
+
+		JsonCursor cursor = new JsonCursor(new LongArrayJsonProducer(0), 4, new CallerRunsExecutor());
+
+		Assert.assertEquals(JsonEventType.DOCUMENT_BEGIN, cursor.next());
+		Assert.assertEquals(JsonEventType.ARRAY_BEGIN, cursor.next());
+		Assert.assertEquals(JsonEventType.ARRAY_END, cursor.next());
+		Assert.assertEquals(JsonEventType.DOCUMENT_END, cursor.next());
+		Assert.assertFalse(cursor.hasNext());
+
+	}
+
+	@Test
+	public void hasNext_callerRunsExceedsCapacity() {
+
+		JsonCursor cursor = new JsonCursor(new LongArrayJsonProducer(10000), 4, new CallerRunsExecutor());
+
+		int events = 0;
+		try {
+			while (cursor.hasNext()) {
+				cursor.next();
+				events++;
+			}
+			Assert.fail();
+		} catch (JsonHandlingException e) {
+			Assert.assertEquals(4, events);
+		}
+
+	}
+
+	@Test
+	public void close_releasesProducer() throws InterruptedException {
+
+		final CountDownLatch released = new CountDownLatch(1);
+		JsonCursor cursor = new JsonCursor(new JsonProducer() {
+
+			@Override
+			public void produce(JsonHandler<?> handler) {
+				try {
+					new LongArrayJsonProducer(Integer.MAX_VALUE).produce(handler);
+				} catch (JsonException e) {
+					released.countDown();
+					throw e;
+				}
+			}
+
+		}, 16, new ThreadExecutor());
+
+		cursor.next();
+		cursor.close();
+
+		Assert.assertTrue(released.await(10, TimeUnit.SECONDS));
+		Assert.assertFalse(cursor.hasNext());
+
+	}
+
+	private static final class LongArrayJsonProducer implements JsonProducer {
+
+		private final int length;
+
+		public LongArrayJsonProducer(int length) {
+			this.length = length;
+		}
+
+		@Override
+		public void produce(JsonHandler<?> handler) {
+			handler.onDocumentBegin();
+			handler.onArrayBegin();
+			for (int i = 0; i < length; i++) {
+				if (0 != i) {
+					handler.onNext();
+				}
+				handler.onLong(i);
+			}
+			handler.onArrayEnd();
+			handler.onDocumentEnd();
+		}
+
+	}
+
+	private static final class ThreadExecutor implements Executor {
+
+		@Override
+		public void execute(Runnable runnable) {
+			new Thread(runnable).start();
+		}
+
+	}
+
+	private static final class CallerRunsExecutor implements Executor {
+
+		@Override
+		public void execute(Runnable runnable) {
+			runnable.run();
+		}
+
+	}
+
+}
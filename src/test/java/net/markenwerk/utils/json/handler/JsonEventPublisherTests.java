@@ -0,0 +1,242 @@
+package net.markenwerk.utils.json.handler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class JsonEventPublisherTests {
+
+	@Test
+	public void subscribe_unboundedDemand() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher(1);
+		TextJsonEventSubscriber subscriber = new TextJsonEventSubscriber(Long.MAX_VALUE);
+
+		publisher.subscribe(subscriber);
+		describe(publisher);
+
+		Assert.assertEquals("{\"a\":[1,true]}", subscriber.getResult());
+
+	}
+
+	@Test
+	public void subscribe_afterEvents() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher(16);
+		TextJsonEventSubscriber subscriber = new TextJsonEventSubscriber(Long.MAX_VALUE);
+
+		describe(publisher);
+		publisher.subscribe(subscriber);
+
+		Assert.assertEquals("{\"a\":[1,true]}", subscriber.getResult());
+
+	}
+
+	@Test
+	public void subscribe_twice() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher();
+		TextJsonEventSubscriber subscriber = new TextJsonEventSubscriber(0);
+
+		publisher.subscribe(new TextJsonEventSubscriber(0));
+		publisher.subscribe(subscriber);
+
+		Assert.assertTrue(subscriber.error instanceof IllegalStateException);
+
+	}
+
+	@Test
+	public void request_boundedDemand() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher(16);
+		TextJsonEventSubscriber subscriber = new TextJsonEventSubscriber(3);
+
+		publisher.subscribe(subscriber);
+		describe(publisher);
+
+		Assert.assertEquals("{\"a\":", subscriber.getResult());
+
+		subscriber.subscription.request(Long.MAX_VALUE);
+
+		Assert.assertEquals("{\"a\":[1,true]}", subscriber.getResult());
+
+	}
+
+	@Test
+	public void request_pausesProducer() throws InterruptedException {
+
+		final JsonEventPublisher publisher = new JsonEventPublisher(2);
+		TextJsonEventSubscriber subscriber = new TextJsonEventSubscriber(0);
+		publisher.subscribe(subscriber);
+
+		Thread producer = new Thread() {
+
+			@Override
+			public void run() {
+				describe(publisher);
+			}
+
+		};
+		producer.start();
+
+		while (Thread.State.WAITING != producer.getState()) {
+			Thread.sleep(1);
+		}
+		Assert.assertEquals("", subscriber.getResult());
+
+		for (int i = 0; i < 11; i++) {
+			subscriber.subscription.request(1);
+		}
+		producer.join();
+
+		Assert.assertEquals("{\"a\":[1,true]}", subscriber.getResult());
+
+	}
+
+	@Test
+	public void request_notPositive() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher();
+		TextJsonEventSubscriber subscriber = new TextJsonEventSubscriber(0);
+		publisher.subscribe(subscriber);
+
+		subscriber.subscription.request(0);
+
+		Assert.assertTrue(subscriber.error instanceof IllegalArgumentException);
+
+	}
+
+	@Test(expected = JsonHandlingException.class)
+	public void cancel_releasesProducer() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher();
+		TextJsonEventSubscriber subscriber = new TextJsonEventSubscriber(0);
+		publisher.subscribe(subscriber);
+
+		subscriber.subscription.cancel();
+		describe(publisher);
+
+	}
+
+	@Test
+	public void subscriberFailed_producer() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher();
+		publisher.subscribe(new FailingJsonEventSubscriber(Long.MAX_VALUE));
+
+		try {
+			describe(publisher);
+			Assert.fail();
+		} catch (JsonHandlingException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+	}
+
+	@Test
+	public void subscriberFailed_request() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher();
+		FailingJsonEventSubscriber subscriber = new FailingJsonEventSubscriber(0);
+		publisher.subscribe(subscriber);
+		publisher.onDocumentBegin();
+
+		try {
+			subscriber.subscription.request(1);
+			Assert.fail();
+		} catch (JsonHandlingException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+	}
+
+	@Test
+	public void onError() {
+
+		JsonEventPublisher publisher = new JsonEventPublisher();
+		TextJsonEventSubscriber subscriber = new TextJsonEventSubscriber(0);
+		publisher.subscribe(subscriber);
+
+		IllegalStateException cause = new IllegalStateException();
+		publisher.onDocumentBegin();
+		publisher.onError(cause);
+
+		Assert.assertSame(cause, subscriber.error);
+
+	}
+
+	private static void describe(JsonHandler<?> handler) {
+
+		handler.onDocumentBegin();
+		handler.onObjectBegin();
+		handler.onName("a");
+		handler.onArrayBegin();
+		handler.onLong(1);
+		handler.onNext();
+		handler.onBoolean(true);
+		handler.onArrayEnd();
+		handler.onObjectEnd();
+		handler.onDocumentEnd();
+
+	}
+
+	private static final class TextJsonEventSubscriber extends TextJsonHandler implements
+			JsonEventSubscriber<String> {
+
+		private final long initialDemand;
+
+		private JsonEventSubscription subscription;
+
+		private Throwable error;
+
+		public TextJsonEventSubscriber(long initialDemand) {
+			this.initialDemand = initialDemand;
+			onDocumentBegin();
+		}
+
+		@Override
+		public void onSubscribe(JsonEventSubscription subscription) {
+			this.subscription = subscription;
+			if (0 != initialDemand) {
+				subscription.request(initialDemand);
+			}
+		}
+
+		@Override
+		public void onError(Throwable cause) {
+			error = cause;
+		}
+
+	}
+
+	private static final class FailingJsonEventSubscriber extends IdleJsonHandler<Void> implements
+			JsonEventSubscriber<Void> {
+
+		private final long initialDemand;
+
+		private JsonEventSubscription subscription;
+
+		public FailingJsonEventSubscriber(long initialDemand) {
+			this.initialDemand = initialDemand;
+		}
+
+		@Override
+		public void onSubscribe(JsonEventSubscription subscription) {
+			this.subscription = subscription;
+			if (0 != initialDemand) {
+				subscription.request(initialDemand);
+			}
+		}
+
+		@Override
+		public void onDocumentBegin() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void onError(Throwable cause) {
+		}
+
+	}
+
+}
@@ -0,0 +1,335 @@
+package net.markenwerk.utils.json.handler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.markenwerk.utils.json.common.JsonException;
+
+@SuppressWarnings("javadoc")
+public class JsonHandlerPipelineTests {
+
+	@Test
+	public void apply_empty() {
+
+		JsonHandler<String> handler = new TextJsonHandler();
+
+		JsonHandler<String> pipelineHandler = new JsonHandlerPipeline.Builder().build().apply(handler);
+
+		Assert.assertSame(handler, pipelineHandler);
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void apply_null() {
+
+		new JsonHandlerPipeline.Builder().dropNulls().build().apply(null);
+
+	}
+
+	@Test
+	public void mapName() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().mapName(new JsonNameMapper() {
+
+			@Override
+			public String mapName(JsonPath path, String name) {
+				return name.toUpperCase();
+			}
+
+		}).mapName(new JsonNameMapper() {
+
+			@Override
+			public String mapName(JsonPath path, String name) {
+				return name + path.getDepth();
+			}
+
+		}).build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{\"A1\":1,\"B1\":[null,true],\"C1\":{\"D2\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void filterPath_object() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().filterPath(new JsonPathFilter() {
+
+			@Override
+			public boolean accept(JsonPath path) {
+				return 0 == path.getDepth() || !"a".equals(path.getName(0));
+			}
+
+		}).build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{\"b\":[null,true],\"c\":{\"d\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void filterPath_container() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().filterPath(new JsonPathFilter() {
+
+			@Override
+			public boolean accept(JsonPath path) {
+				return 0 == path.getDepth() || !"b".equals(path.getName(0));
+			}
+
+		}).build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{\"a\":1,\"c\":{\"d\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void filterPath_index() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().filterPath(new JsonPathFilter() {
+
+			@Override
+			public boolean accept(JsonPath path) {
+				return 2 != path.getDepth() || !path.isIndex(1) || 1 == path.getIndex(1);
+			}
+
+		}).build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{\"a\":1,\"b\":[true],\"c\":{\"d\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void filterPath_originalNames() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().mapName(new JsonNameMapper() {
+
+			@Override
+			public String mapName(JsonPath path, String name) {
+				return "x" + name;
+			}
+
+		}).filterPath(new JsonPathFilter() {
+
+			@Override
+			public boolean accept(JsonPath path) {
+				return 1 != path.getDepth() || "c".equals(path.getName(0));
+			}
+
+		}).build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{\"xc\":{\"xd\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void mapValue() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().mapValue(new IdleJsonValueMapper() {
+
+			@Override
+			public void onLong(long value, JsonHandler<?> next) throws JsonException {
+				next.onDouble(value / 2d);
+			}
+
+		}).mapValue(new IdleJsonValueMapper() {
+
+			@Override
+			public void onDouble(double value, JsonHandler<?> next) throws JsonException {
+				next.onString(Double.toString(value));
+			}
+
+		}).build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{\"a\":\"0.5\",\"b\":[null,true],\"c\":{\"d\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void dropNulls() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().dropNulls().build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{\"a\":1,\"b\":[true],\"c\":{\"d\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void dropNulls_afterMapValue() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().mapValue(new IdleJsonValueMapper() {
+
+			@Override
+			public void onBoolean(boolean value, JsonHandler<?> next) throws JsonException {
+				next.onNull();
+			}
+
+		}).dropNulls().build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{\"a\":1,\"b\":[],\"c\":{\"d\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void dropNulls_root() {
+
+		JsonHandler<String> handler = new JsonHandlerPipeline.Builder().dropNulls().build()
+				.apply(new TextJsonHandler());
+
+		handler.onDocumentBegin();
+		handler.onNull();
+		handler.onDocumentEnd();
+
+		Assert.assertEquals("null", handler.getResult());
+
+	}
+
+	@Test
+	public void filterPath_root() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().filterPath(new JsonPathFilter() {
+
+			@Override
+			public boolean accept(JsonPath path) {
+				return false;
+			}
+
+		}).build();
+
+		String result = describe(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals("{}", result);
+
+	}
+
+	@Test(expected = JsonHandlingException.class)
+	public void mapValue_removedRoot() {
+
+		JsonHandler<String> handler = new JsonHandlerPipeline.Builder().mapValue(new IdleJsonValueMapper() {
+
+			@Override
+			public void onLong(long value, JsonHandler<?> next) {
+			}
+
+		}).build().apply(new TextJsonHandler());
+
+		handler.onDocumentBegin();
+		handler.onLong(42);
+
+	}
+
+	@Test(expected = JsonHandlingException.class)
+	public void mapValue_multipleValues() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().mapValue(new IdleJsonValueMapper() {
+
+			@Override
+			public void onLong(long value, JsonHandler<?> next) throws JsonException {
+				next.onLong(value);
+				next.onLong(value);
+			}
+
+		}).build();
+
+		describe(pipeline.apply(new TextJsonHandler()));
+
+	}
+
+	@Test
+	public void apply_reused() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().dropNulls().build();
+		JsonHandler<String> handler = pipeline.apply(new TextJsonHandler());
+
+		describe(handler);
+		String result = describe(handler);
+
+		Assert.assertEquals("{\"a\":1,\"b\":[true],\"c\":{\"d\":\"foo\"}}", result);
+
+	}
+
+	@Test
+	public void getEventMask_deferred() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().filterPath(new JsonPathFilter() {
+
+			@Override
+			public boolean accept(JsonPath path) {
+				return true;
+			}
+
+		}).build();
+
+		int eventMask = JsonEventType.eventMaskOf(pipeline.apply(new TextJsonHandler()));
+
+		Assert.assertEquals(JsonEventType.ALL_MASK, eventMask);
+
+	}
+
+	@Test
+	public void getEventMask_values() {
+
+		JsonHandlerPipeline pipeline = new JsonHandlerPipeline.Builder().filterPath(new JsonPathFilter() {
+
+			@Override
+			public boolean accept(JsonPath path) {
+				return true;
+			}
+
+		}).build();
+
+		int eventMask = JsonEventType.eventMaskOf(pipeline.apply(new IdleJsonHandler<Void>() {
+
+			@Override
+			public void onLong(long value) {
+			}
+
+		}));
+
+		Assert.assertFalse(JsonEventType.STRING.isContainedIn(eventMask));
+		Assert.assertTrue(JsonEventType.LONG.isContainedIn(eventMask));
+		Assert.assertTrue(JsonEventType.NAME.isContainedIn(eventMask));
+
+	}
+
+	private static String describe(JsonHandler<String> handler) {
+
+		handler.onDocumentBegin();
+		handler.onObjectBegin();
+		handler.onName("a");
+		handler.onLong(1);
+		handler.onNext();
+		handler.onName("b");
+		handler.onArrayBegin();
+		handler.onNull();
+		handler.onNext();
+		handler.onBoolean(true);
+		handler.onArrayEnd();
+		handler.onNext();
+		handler.onName("c");
+		handler.onObjectBegin();
+		handler.onName("d");
+		handler.onString("foo");
+		handler.onObjectEnd();
+		handler.onObjectEnd();
+		handler.onDocumentEnd();
+
+		return handler.getResult();
+
+	}
+
+}
@@ -0,0 +1,110 @@
+package net.markenwerk.utils.json.handler;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class NameCountingJsonAggregatorTests {
+
+	@Test
+	public void getResult_empty() {
+
+		NameCountingJsonAggregator aggregator = new NameCountingJsonAggregator();
+
+		Map<String, Long> result = aggregator.getResult();
+
+		Assert.assertTrue(result.isEmpty());
+		Assert.assertEquals(0, aggregator.getDocumentCount());
+
+	}
+
+	@Test
+	public void aggregate() {
+
+		NameCountingJsonAggregator aggregator = new NameCountingJsonAggregator();
+
+		aggregator.aggregate(new ObjectJsonProducer());
+		aggregator.aggregate(new ObjectJsonProducer());
+
+		Assert.assertEquals(2, aggregator.getNameCount("foo"));
+		Assert.assertEquals(2, aggregator.getNameCount("bar"));
+		Assert.assertEquals(2, aggregator.getDocumentCount());
+
+	}
+
+	@Test
+	public void aggregate_concurrent() throws InterruptedException {
+
+		final NameCountingJsonAggregator aggregator = new NameCountingJsonAggregator();
+
+		ConcurrentRunner.run(8, new Runnable() {
+
+			@Override
+			public void run() {
+				JsonHandler<Map<String, Long>> handler = aggregator.createHandler();
+				for (int j = 0; j < 1000; j++) {
+					new ObjectJsonProducer().produce(handler);
+				}
+			}
+
+		});
+
+		Map<String, Long> result = aggregator.createHandler().getResult();
+
+		Assert.assertEquals(8000L, result.get("foo").longValue());
+		Assert.assertEquals(8000L, result.get("bar").longValue());
+		Assert.assertEquals(8000, aggregator.getDocumentCount());
+
+	}
+
+	@Test
+	public void aggregate_concurrentProducers() throws InterruptedException {
+
+		final NameCountingJsonAggregator aggregator = new NameCountingJsonAggregator();
+
+		ConcurrentRunner.run(8, new Runnable() {
+
+			@Override
+			public void run() {
+				for (int j = 0; j < 1000; j++) {
+					aggregator.aggregate(new ObjectJsonProducer());
+				}
+			}
+
+		});
+
+		Assert.assertEquals(8000, aggregator.getNameCount("foo"));
+		Assert.assertEquals(8000, aggregator.getNameCount("bar"));
+		Assert.assertEquals(8000, aggregator.getDocumentCount());
+
+	}
+
+	@Test
+	public void getEventMask() {
+
+		int eventMask = JsonEventType.eventMaskOf(new NameCountingJsonAggregator().createHandler());
+
+		Assert.assertEquals(JsonEventType.maskOf(JsonEventType.DOCUMENT_END, JsonEventType.NAME), eventMask);
+
+	}
+
+	private static final class ObjectJsonProducer implements JsonProducer {
+
+		@Override
+		public void produce(JsonHandler<?> handler) {
+			handler.onDocumentBegin();
+			handler.onObjectBegin();
+			handler.onName("foo");
+			handler.onLong(42);
+			handler.onNext();
+			handler.onName("bar");
+			handler.onString("baz");
+			handler.onObjectEnd();
+			handler.onDocumentEnd();
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+package net.markenwerk.utils.json.handler;
+
+/**
+ * Compares the throughput of a checked {@link NullJsonHandler} and an
+ * unchecked {@link SinkJsonHandler} when draining a large JSON document.
+ * 
+ * <p>
+ * Run with {@code java -cp <test-classpath>
+ * net.markenwerk.utils.json.handler.NullJsonHandlerBenchmark [elements]}.
+ */
+@SuppressWarnings("javadoc")
+public final class NullJsonHandlerBenchmark {
+
+	private static final int WARMUP_ROUNDS = 10;
+
+	private static final int MEASURED_ROUNDS = 10;
+
+	private NullJsonHandlerBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int elements = 0 == args.length ? 1000000 : Integer.parseInt(args[0]);
+		String[] names = new String[] { "id", "name", "score", "active" };
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			drain(NullJsonHandler.create(true), names, elements);
+			drain(NullJsonHandler.create(false), names, elements);
+		}
+		long checked = 0;
+		long unchecked = 0;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			checked += drain(NullJsonHandler.create(true), names, elements);
+			unchecked += drain(NullJsonHandler.create(false), names, elements);
+		}
+		report("NullJsonHandler", checked, elements);
+		report("SinkJsonHandler", unchecked, elements);
+	}
+
+	private static long drain(JsonHandler<Void> handler, String[] names, int elements) {
+		long start = System.nanoTime();
+		handler.onDocumentBegin();
+		handler.onArrayBegin();
+		for (int i = 0; i < elements; i++) {
+			if (0 != i) {
+				handler.onNext();
+			}
+			handler.onObjectBegin();
+			handler.onName(names[0]);
+			handler.onLong(i);
+			handler.onNext();
+			handler.onName(names[1]);
+			handler.onString(names[i & 3]);
+			handler.onNext();
+			handler.onName(names[2]);
+			handler.onDouble(i * 0.5);
+			handler.onNext();
+			handler.onName(names[3]);
+			handler.onBoolean(0 == (i & 1));
+			handler.onObjectEnd();
+		}
+		handler.onArrayEnd();
+		handler.onDocumentEnd();
+		return System.nanoTime() - start;
+	}
+
+	private static void report(String name, long nanos, int elements) {
+		double perElement = (double) nanos / MEASURED_ROUNDS / elements;
+		System.out.println(name + ": " + String.format("%.2f", perElement) + " ns per element");
+	}
+
+}
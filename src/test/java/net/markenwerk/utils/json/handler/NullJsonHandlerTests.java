@@ -255,4 +255,34 @@ public class NullJsonHandlerTests {
 
 	}
 
+	@Test
+	public void create_checked() {
+
+		JsonHandler<Void> handler = NullJsonHandler.create(true);
+
+		Assert.assertTrue(handler instanceof NullJsonHandler);
+
+	}
+
+	@Test
+	public void create_unchecked() {
+
+		JsonHandler<Void> handler = NullJsonHandler.create(false);
+
+		Assert.assertSame(SinkJsonHandler.INSTANCE, handler);
+
+	}
+
+	@Test
+	public void getEventMask() {
+
+		JsonHandler<Void> handler = new NullJsonHandler();
+
+		int eventMask = JsonEventType.eventMaskOf(handler);
+
+		Assert.assertEquals(JsonEventType.maskOf(JsonEventType.NAME, JsonEventType.DOUBLE, JsonEventType.STRING),
+				eventMask);
+
+	}
+
 }
@@ -0,0 +1,96 @@
+package net.markenwerk.utils.json.handler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class SinkJsonHandlerTests {
+
+	@Test
+	public void onDocument() {
+
+		JsonHandler<Void> handler = new SinkJsonHandler();
+
+		handler.onDocumentBegin();
+		handler.onObjectBegin();
+		handler.onName("foo");
+		handler.onArrayBegin();
+		handler.onNull();
+		handler.onNext();
+		handler.onBoolean(true);
+		handler.onNext();
+		handler.onLong(Long.MAX_VALUE);
+		handler.onNext();
+		handler.onDouble(Double.MIN_VALUE);
+		handler.onNext();
+		handler.onString("bar");
+		handler.onArrayEnd();
+		handler.onObjectEnd();
+		handler.onDocumentEnd();
+
+		Void result = handler.getResult();
+
+		Assert.assertNull(result);
+
+	}
+
+	@Test
+	public void onName_null() {
+
+		JsonHandler<Void> handler = new SinkJsonHandler();
+
+		handler.onDocumentBegin();
+		handler.onObjectBegin();
+		handler.onName(null);
+		handler.onNull();
+		handler.onObjectEnd();
+		handler.onDocumentEnd();
+
+		Void result = handler.getResult();
+
+		Assert.assertNull(result);
+
+	}
+
+	@Test
+	public void onDouble_nan() {
+
+		JsonHandler<Void> handler = new SinkJsonHandler();
+
+		handler.onDocumentBegin();
+		handler.onDouble(Double.NaN);
+		handler.onDocumentEnd();
+
+		Void result = handler.getResult();
+
+		Assert.assertNull(result);
+
+	}
+
+	@Test
+	public void onString_null() {
+
+		JsonHandler<Void> handler = new SinkJsonHandler();
+
+		handler.onDocumentBegin();
+		handler.onString(null);
+		handler.onDocumentEnd();
+
+		Void result = handler.getResult();
+
+		Assert.assertNull(result);
+
+	}
+
+	@Test
+	public void getEventMask() {
+
+		JsonHandler<Void> handler = new SinkJsonHandler();
+
+		int eventMask = JsonEventType.eventMaskOf(handler);
+
+		Assert.assertEquals(0, eventMask);
+
+	}
+
+}
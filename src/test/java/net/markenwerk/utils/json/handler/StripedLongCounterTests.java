@@ -0,0 +1,90 @@
+package net.markenwerk.utils.json.handler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class StripedLongCounterTests {
+
+	@Test
+	public void sum_empty() {
+
+		StripedLongCounter counter = new StripedLongCounter();
+
+		Assert.assertEquals(0, counter.sum());
+
+	}
+
+	@Test
+	public void add() {
+
+		StripedLongCounter counter = new StripedLongCounter(3);
+
+		counter.add(40);
+		counter.increment();
+		counter.increment();
+
+		Assert.assertEquals(42, counter.sum());
+
+	}
+
+	@Test
+	public void add_concurrent() throws InterruptedException {
+
+		final StripedLongCounter counter = new StripedLongCounter();
+
+		ConcurrentRunner.run(8, new Runnable() {
+
+			@Override
+			public void run() {
+				for (int j = 0; j < 10000; j++) {
+					counter.increment();
+				}
+			}
+
+		});
+
+		Assert.assertEquals(80000, counter.sum());
+
+	}
+
+	@Test
+	public void add_contended() throws InterruptedException {
+
+		final StripedLongCounter counter = new StripedLongCounter(2);
+
+		ConcurrentRunner.run(8, new Runnable() {
+
+			@Override
+			public void run() {
+				for (int j = 0; j < 10000; j++) {
+					counter.add(2);
+				}
+			}
+
+		});
+
+		Assert.assertEquals(160000, counter.sum());
+
+	}
+
+	@Test
+	public void add_uncontended() {
+
+		StripedLongCounter counter = new StripedLongCounter(1);
+
+		counter.add(-2);
+		counter.add(44);
+
+		Assert.assertEquals(42, counter.sum());
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void create_invalidConcurrency() {
+
+		new StripedLongCounter(0);
+
+	}
+
+}
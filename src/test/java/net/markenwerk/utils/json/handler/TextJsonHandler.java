@@ -0,0 +1,76 @@
+package net.markenwerk.utils.json.handler;
+
+@SuppressWarnings("javadoc")
+class TextJsonHandler extends IdleJsonHandler<String> {
+
+	private StringBuilder builder;
+
+	@Override
+	public void onDocumentBegin() {
+		builder = new StringBuilder();
+	}
+
+	@Override
+	public void onArrayBegin() {
+		builder.append('[');
+	}
+
+	@Override
+	public void onArrayEnd() {
+		builder.append(']');
+	}
+
+	@Override
+	public void onObjectBegin() {
+		builder.append('{');
+	}
+
+	@Override
+	public void onObjectEnd() {
+		builder.append('}');
+	}
+
+	@Override
+	public void onName(String name) {
+		checkName(name);
+		builder.append('"').append(name).append("\":");
+	}
+
+	@Override
+	public void onNext() {
+		builder.append(',');
+	}
+
+	@Override
+	public void onNull() {
+		builder.append("null");
+	}
+
+	@Override
+	public void onBoolean(boolean value) {
+		builder.append(value);
+	}
+
+	@Override
+	public void onLong(long value) {
+		builder.append(value);
+	}
+
+	@Override
+	public void onDouble(double value) {
+		checkDouble(value);
+		builder.append(value);
+	}
+
+	@Override
+	public void onString(String value) {
+		checkString(value);
+		builder.append('"').append(value).append('"');
+	}
+
+	@Override
+	public String getResult() {
+		return builder.toString();
+	}
+
+}